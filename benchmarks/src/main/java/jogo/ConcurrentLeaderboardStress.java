@@ -0,0 +1,124 @@
+package jogo;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Teste de estresse do ConcurrentLeaderboard: várias threads enviam scores ao mesmo tempo
+// enquanto leitores conferem os snapshots (ordem por tempo e um único registro por jogador e
+// dificuldade). No final o resultado é comparado com um RankingEngine alimentado com os
+// mesmos scores. Termina com código 1 se encontrar alguma violação.
+// Uso: java -cp benchmarks.jar jogo.ConcurrentLeaderboardStress [threads] [envios por thread] [jogadores]
+public class ConcurrentLeaderboardStress {
+    public static void main(String[] args) throws Exception {
+        int writers = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(4, Runtime.getRuntime().availableProcessors());
+        int perWriter = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int players = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+        int readers = 2;
+
+        ConcurrentLeaderboard leaderboard = new ConcurrentLeaderboard();
+        ConcurrentLinkedQueue<String> violations = new ConcurrentLinkedQueue<>();
+        List<List<PlayerScore>> submitted = new ArrayList<>();
+        for (int i = 0; i < writers; i++) submitted.add(new ArrayList<>(perWriter));
+
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch writersDone = new CountDownLatch(writers);
+        AtomicLong reads = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(writers + readers);
+
+        for (int w = 0; w < writers; w++) {
+            List<PlayerScore> mine = submitted.get(w);
+            int seed = w;
+            executor.submit(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                start.await();
+                for (int i = 0; i < perWriter; i++) {
+                    // Nomes com caixa variada: a unicidade é pelo nome normalizado
+                    String name = "Jogador" + random.nextInt(players);
+                    if (random.nextBoolean()) name = name.toUpperCase(Locale.ROOT);
+                    PlayerScore score = new PlayerScore(name, 100_000 + random.nextInt(1_000_000), 0,
+                        Difficulty.values()[random.nextInt(Difficulty.values().length)]);
+                    mine.add(score);
+                    leaderboard.submit(score);
+                }
+                writersDone.countDown();
+                return null;
+            });
+        }
+        for (int r = 0; r < readers; r++) {
+            executor.submit(() -> {
+                start.await();
+                while (writersDone.getCount() > 0) {
+                    for (Difficulty view : new Difficulty[] {null, Difficulty.FÁCIL, Difficulty.MÉDIO, Difficulty.DIFÍCIL}) {
+                        check(leaderboard.topK(view, ConcurrentLeaderboard.SNAPSHOT_SIZE), view, violations);
+                        reads.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        writersDone.await();
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        // Resultado final deve coincidir com o ranking sequencial
+        RankingEngine expected = new RankingEngine();
+        for (List<PlayerScore> scores : submitted) {
+            for (PlayerScore score : scores) {
+                expected.submit(new PlayerScore(score.playerName, score.reactionTimeMicros, 0, score.difficulty));
+            }
+        }
+        for (Difficulty view : new Difficulty[] {null, Difficulty.FÁCIL, Difficulty.MÉDIO, Difficulty.DIFÍCIL}) {
+            List<PlayerScore> actual = leaderboard.topK(view, ConcurrentLeaderboard.SNAPSHOT_SIZE);
+            List<PlayerScore> wanted = view == null
+                ? expected.topK(ConcurrentLeaderboard.SNAPSHOT_SIZE) : expected.topK(view, ConcurrentLeaderboard.SNAPSHOT_SIZE);
+            check(actual, view, violations);
+            if (actual.size() != wanted.size()) {
+                violations.add("Tamanho final diferente em " + view + ": " + actual.size() + " != " + wanted.size());
+                continue;
+            }
+            for (int i = 0; i < actual.size(); i++) {
+                if (actual.get(i).reactionTimeMicros != wanted.get(i).reactionTimeMicros) {
+                    violations.add("Posição " + i + " de " + view + ": " + actual.get(i) + " != " + wanted.get(i));
+                    break;
+                }
+            }
+        }
+        if (leaderboard.size() != expected.size()) {
+            violations.add("Número de melhores diferente: " + leaderboard.size() + " != " + expected.size());
+        }
+
+        long total = (long) writers * perWriter;
+        System.out.printf(Locale.ROOT, "%d envios de %d threads em %.2f s (%.0f envios/s), %d leituras de snapshot%n",
+            total, writers, elapsed / 1e9, total / (elapsed / 1e9), reads.get());
+        if (violations.isEmpty()) {
+            System.out.println("OK: ordem e unicidade preservadas");
+        } else {
+            System.out.println(violations.size() + " violações, primeiras:");
+            violations.stream().limit(10).forEach(v -> System.out.println("  " + v));
+            System.exit(1);
+        }
+    }
+
+    // Snapshot deve estar ordenado por tempo e ter no máximo uma entrada por jogador e dificuldade
+    private static void check(List<PlayerScore> top, Difficulty view, Collection<String> violations) {
+        HashSet<String> seen = new HashSet<>();
+        long previous = Long.MIN_VALUE;
+        for (PlayerScore score : top) {
+            if (score.reactionTimeMicros < previous) {
+                violations.add("Fora de ordem em " + view + ": " + score);
+            }
+            previous = score.reactionTimeMicros;
+            if (!seen.add(RankingEngine.normalize(score.playerName) + score.difficulty)) {
+                violations.add("Jogador repetido em " + view + ": " + score);
+            }
+            if (view != null && score.difficulty != view) {
+                violations.add("Dificuldade errada em " + view + ": " + score);
+            }
+        }
+    }
+}
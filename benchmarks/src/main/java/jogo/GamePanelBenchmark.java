@@ -0,0 +1,78 @@
+package jogo;
+
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+// Caminhos quentes do GamePanel executados sem tela (java.awt.headless).
+// Rodar com -prof gc para ver a taxa de alocação
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class GamePanelBenchmark {
+    private GamePanel panel;
+    private Graphics2D graphics;
+    private BufferedImage canvas;
+    private int wrongKeyCode;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        panel = new GamePanel(false);
+        panel.setPlayerName("Benchmark");
+        panel.setSize(700, 600);
+        panel.doLayout();
+        
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 50; i++) {
+            panel.ranking.submit(new PlayerScore("Jogador" + i, 150_000 + random.nextInt(400_000), 0, Difficulty.MÉDIO));
+        }
+        
+        // Deixar uma rodada ativa para o timer e para o teste de teclas
+        panel.engine.prepareRound("Benchmark", Difficulty.MÉDIO);
+        String target = panel.engine.drawTargetKey();
+        panel.engine.startStimulus(System.nanoTime());
+        wrongKeyCode = target.equals("A") ? KeyEvent.VK_B : KeyEvent.VK_A;
+        
+        canvas = new BufferedImage(700, 600, BufferedImage.TYPE_INT_ARGB);
+        graphics = canvas.createGraphics();
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graphics.dispose();
+    }
+    
+    @Benchmark
+    public void updateRankingDisplay() {
+        panel.updateRankingDisplay();
+    }
+    
+    @Benchmark
+    public void updateTimer() {
+        panel.updateTimer();
+    }
+    
+    // Somente a formatação feita a cada tick do timer
+    @Benchmark
+    public String timerFormat() {
+        long elapsedTime = (System.nanoTime() / 1_000_000L) % 60_000L;
+        return String.format("%02d:%03d", elapsedTime / 1000, elapsedTime % 1000);
+    }
+    
+    // Caminho de uma tecla errada: tradução do código e comparação, sem encerrar a rodada
+    @Benchmark
+    public void checkKeyPress() {
+        panel.checkKeyPress(KeyCapture.keyIndex(wrongKeyCode), System.nanoTime(), 0L);
+    }
+    
+    @Benchmark
+    public void paintComponent() {
+        panel.paintComponent(graphics);
+    }
+}
@@ -0,0 +1,244 @@
+package jogo;
+
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+import javax.swing.*;
+
+// Carga de ponta a ponta sobre o GamePanel de verdade, numa tela (Xvfb serve): cada rodada é
+// iniciada como pelo START, e a tecla alvo é injetada um atraso sorteado depois do início do
+// estímulo, pelo Robot (evento nativo, passa pelo servidor X) ou postada na EventQueue. Mede
+// o que o jogo registrou contra o atraso realmente injetado, o tempo da injeção até a captura
+// e até o fim do processamento da tecla (checkKeyPress e feedback), com threads opcionais
+// ocupando a CPU. No fim mostra também os histogramas do próprio jogo (F12). Termina com
+// código 1 se alguma tecla injetada se perdeu (rodada esgotada).
+// Uso: xvfb-run java -cp benchmarks.jar jogo.InputLoadHarness [rodadas] [robot|fila] [threads de carga] [atraso mín. ms] [atraso máx. ms]
+public class InputLoadHarness {
+    // Jogadores em rodízio, para o ranking ter algum tamanho
+    private static final int PLAYERS = 50;
+    private static final long SPIN_MARGIN_NANOS = 1_000_000L;
+
+    // Eventos vindos do EDT para a thread do harness
+    private static final class Event {
+        final int targetIndex;
+        final long nanos;
+        final RoundResult result;
+
+        Event(int targetIndex, long nanos, RoundResult result) {
+            this.targetIndex = targetIndex;
+            this.nanos = nanos;
+            this.result = result;
+        }
+    }
+
+    private static final Event TIMED_OUT = new Event(-1, 0L, null);
+
+    public static void main(String[] args) throws Exception {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        boolean robot = args.length > 1 ? args[1].equals("robot") : true;
+        int loadThreads = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        int minDelayMillis = args.length > 3 ? Integer.parseInt(args[3]) : 150;
+        int maxDelayMillis = args.length > 4 ? Integer.parseInt(args[4]) : 400;
+        if (GraphicsEnvironment.isHeadless()) {
+            System.err.println("InputLoadHarness precisa de uma tela; sem monitor use xvfb-run");
+            System.exit(1);
+        }
+        if (maxDelayMillis >= Difficulty.MÉDIO.timeout) {
+            System.err.println("Atraso máximo precisa ficar abaixo do timeout (" + Difficulty.MÉDIO.timeout + " ms)");
+            System.exit(2);
+        }
+
+        BlockingQueue<Event> onsets = new LinkedBlockingQueue<>();
+        BlockingQueue<Event> outcomes = new LinkedBlockingQueue<>();
+        long[] captureNanos = new long[1];
+        GamePanel[] panels = new GamePanel[1];
+        JFrame[] frames = new JFrame[1];
+        SwingUtilities.invokeAndWait(() -> {
+            // Recursos próprios: sem armazenamento nem gravação, nada do harness fica no ranking salvo
+            GamePanel panel = new GamePanel(false, new StationResources(Clock.SYSTEM, null, null, null, false));
+            panel.setPlayerName("Harness 0");
+            panel.engine.setRoundListener(new GameEngine.RoundListener() {
+                @Override
+                public void roundPrepared(String playerName, Difficulty difficulty, long startNanos, long plannedOnsetNanos) {
+                }
+
+                @Override
+                public void stimulusStarted(int targetIndex, long onsetNanos) {
+                    onsets.add(new Event(targetIndex, onsetNanos, null));
+                }
+
+                @Override
+                public void keyPressed(int keyIndex, long nanos, long dispatchDelayMicros) {
+                    captureNanos[0] = nanos;
+                }
+
+                @Override
+                public void timedOut(long nowNanos) {
+                    outcomes.add(TIMED_OUT);
+                }
+
+                @Override
+                public void cancelled(long nowNanos) {
+                }
+
+                @Override
+                public void displayOffsetChanged(long offsetMicros) {
+                }
+            });
+            panel.roundResultListener = result -> outcomes.add(new Event(-1, System.nanoTime(), result));
+            JFrame frame = new JFrame("InputLoadHarness");
+            frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+            frame.add(panel);
+            frame.pack();
+            frame.setVisible(true);
+            frame.toFront();
+            panels[0] = panel;
+            frames[0] = frame;
+        });
+        GamePanel panel = panels[0];
+        JFrame frame = frames[0];
+        awaitFocus(frame);
+
+        Robot keyboard = robot ? new Robot() : null;
+        if (keyboard != null) keyboard.setAutoDelay(0);
+        ExecutorService load = startLoad(loadThreads);
+        SplittableRandom random = new SplittableRandom(21);
+        // Erro do jogo (registrado - injetado) em módulo, com sinal na média e nos extremos
+        LatencyHistogram error = new LatencyHistogram();
+        LatencyHistogram capture = new LatencyHistogram();
+        LatencyHistogram pipeline = new LatencyHistogram();
+        long errorSum = 0L;
+        long errorMin = Long.MAX_VALUE;
+        long errorMax = Long.MIN_VALUE;
+        int lost = 0;
+        Latency.resetAll();
+
+        System.out.printf(Locale.ROOT, "%d rodadas, injeção por %s, %d threads de carga, atraso %d-%d ms%n",
+            rounds, robot ? "Robot" : "EventQueue", loadThreads, minDelayMillis, maxDelayMillis);
+        long begin = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            String player = "Harness " + (round % PLAYERS);
+            SwingUtilities.invokeAndWait(() -> {
+                panel.setPlayerName(player);
+                panel.startGame();
+            });
+            Event onset = onsets.poll(GameEngine.MIN_DELAY_MILLIS + GameEngine.DELAY_RANGE_MILLIS + 5_000L, TimeUnit.MILLISECONDS);
+            if (onset == null) throw new IllegalStateException("Estímulo não apareceu na rodada " + round);
+
+            long delayNanos = (minDelayMillis + random.nextInt(maxDelayMillis - minDelayMillis + 1)) * 1_000_000L;
+            long injectNanos = sleepUntil(onset.nanos + delayNanos);
+            int keyCode = KeyEvent.getExtendedKeyCodeForChar(GameEngine.AVAILABLE_KEYS[onset.targetIndex].charAt(0));
+            if (keyboard != null) {
+                keyboard.keyPress(keyCode);
+                keyboard.keyRelease(keyCode);
+            } else {
+                post(frame, keyCode);
+            }
+
+            Event outcome = outcomes.poll(Difficulty.MÉDIO.timeout + 5_000L, TimeUnit.MILLISECONDS);
+            if (outcome == null) throw new IllegalStateException("Rodada " + round + " não terminou");
+            if (outcome == TIMED_OUT) {
+                lost++;
+                awaitFocus(frame);
+                continue;
+            }
+            // Tempo bruto: o início do estímulo é o instante da apresentação, não o da luz na tela,
+            // e a injeção é relativa a ele; o desvio calibrado da tela fica de fora
+            long injectedMicros = (injectNanos - onset.nanos) / 1000L;
+            long errorMicros = outcome.result.score.rawReactionTimeMicros - injectedMicros;
+            error.record(Math.abs(errorMicros) * 1000L);
+            errorSum += errorMicros;
+            errorMin = Math.min(errorMin, errorMicros);
+            errorMax = Math.max(errorMax, errorMicros);
+            capture.record(captureNanos[0] - injectNanos);
+            pipeline.record(outcome.nanos - injectNanos);
+            if ((round + 1) % 100 == 0) {
+                System.out.printf(Locale.ROOT, "%d rodadas, erro médio %+.1f µs, %d perdidas%n",
+                    round + 1, (double) errorSum / Math.max(1, error.getCount()), lost);
+            }
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        load.shutdownNow();
+        SwingUtilities.invokeAndWait(frame::dispose);
+
+        long measured = error.getCount();
+        System.out.printf(Locale.ROOT, "%n%d rodadas em %.1f s, %d medidas, %d perdidas%n", rounds, seconds, measured, lost);
+        if (measured > 0) {
+            System.out.printf(Locale.ROOT, "Erro registrado - injetado: média %+.1f µs, mín. %+d µs, máx. %+d µs%n",
+                (double) errorSum / measured, errorMin, errorMax);
+        }
+        System.out.printf("%-32s %s%n", "|Erro| registrado - injetado", error.summaryLine());
+        System.out.printf("%-32s %s%n", "Injeção até a captura", capture.summaryLine());
+        System.out.printf("%-32s %s%n", "Injeção até o fim da tecla", pipeline.summaryLine());
+        System.out.println();
+        System.out.print(Latency.report());
+        System.exit(lost > 0 ? 1 : 0);
+    }
+
+    // Sem o foco na janela o Robot digita em outro lugar e os eventos postados não têm destino
+    private static void awaitFocus(JFrame frame) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (true) {
+            boolean[] focused = new boolean[1];
+            SwingUtilities.invokeAndWait(() -> {
+                if (!frame.isFocused()) {
+                    frame.toFront();
+                    frame.requestFocus();
+                }
+                focused[0] = frame.isFocused();
+            });
+            if (focused[0]) return;
+            if (System.nanoTime() > deadline) {
+                System.err.println("Aviso: a janela do harness não recebeu o foco; as teclas podem se perder");
+                return;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    // Como o StimulusScheduler: parkNanos até perto do instante e espera ativa no resto
+    private static long sleepUntil(long targetNanos) {
+        long now;
+        while ((now = System.nanoTime()) < targetNanos) {
+            long remaining = targetNanos - now;
+            if (remaining > SPIN_MARGIN_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_MARGIN_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+        return now;
+    }
+
+    // Os eventos postados vão para o dono do foco, como os do teclado
+    private static void post(JFrame frame, int keyCode) {
+        EventQueue queue = Toolkit.getDefaultToolkit().getSystemEventQueue();
+        long when = System.currentTimeMillis();
+        char keyChar = (char) keyCode;
+        queue.postEvent(new KeyEvent(frame, KeyEvent.KEY_PRESSED, when, 0, keyCode, keyChar));
+        queue.postEvent(new KeyEvent(frame, KeyEvent.KEY_RELEASED, when, 0, keyCode, keyChar));
+    }
+
+    // Threads em espera ativa disputando a CPU com o EDT e o agendador do estímulo
+    private static ExecutorService startLoad(int threads) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), task -> {
+            Thread thread = new Thread(task, "harness-load");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                long x = System.nanoTime();
+                while (!Thread.currentThread().isInterrupted()) {
+                    x ^= x << 13;
+                    x ^= x >>> 7;
+                    x ^= x << 17;
+                }
+                return x;
+            });
+        }
+        return executor;
+    }
+}
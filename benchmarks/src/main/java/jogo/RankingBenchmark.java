@@ -0,0 +1,58 @@
+package jogo;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Custo de registrar um score no ranking com diferentes tamanhos de ranking.
+// Rodar com -prof gc para ver a taxa de alocação. O ranking é refeito a cada iteração: os
+// envios medidos não mudam o número de jogadores, mas o histórico e as estatísticas crescem
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RankingBenchmark {
+    @Param({"10", "1000", "100000", "1000000"})
+    int rankingSize;
+    
+    private RankingEngine ranking;
+    private String[] names;
+    private SplittableRandom random;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        names = new String[rankingSize];
+        for (int i = 0; i < rankingSize; i++) names[i] = "Jogador" + i;
+    }
+    
+    @Setup(Level.Iteration)
+    public void fillRanking() {
+        random = new SplittableRandom(7);
+        ranking = new RankingEngine();
+        Difficulty[] difficulties = Difficulty.values();
+        for (int i = 0; i < rankingSize; i++) {
+            ranking.submit(new PlayerScore(names[i], 150_000 + random.nextInt(400_000), 0, difficulties[i % difficulties.length]));
+        }
+    }
+    
+    @Benchmark
+    public boolean addToRanking() {
+        String name = names[random.nextInt(names.length)];
+        return ranking.submit(new PlayerScore(name, 150_000 + random.nextInt(400_000), 0, Difficulty.MÉDIO));
+    }
+    
+    @Benchmark
+    public void addToRankingWithTopK(Blackhole blackhole) {
+        String name = names[random.nextInt(names.length)];
+        blackhole.consume(ranking.submit(new PlayerScore(name, 150_000 + random.nextInt(400_000), 0, Difficulty.MÉDIO)));
+        blackhole.consume(ranking.topK(10));
+    }
+    
+    @Benchmark
+    public PlayerScore bestTimeForPlayer() {
+        return ranking.getBest(names[random.nextInt(names.length)], Difficulty.MÉDIO);
+    }
+}
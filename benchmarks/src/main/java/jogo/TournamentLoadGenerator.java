@@ -0,0 +1,108 @@
+package jogo;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Gerador de carga para o servidor do torneio via loopback: muitas conexões enviando scores
+// de uma vez, como um salão inteiro terminando a rodada, mais um inscrito medindo quanto
+// tempo o top-K leva para chegar. Sem host, sobe um servidor na própria JVM e mede a vazão
+// do lado do servidor.
+// Uso: java -cp benchmarks.jar jogo.TournamentLoadGenerator [conexões] [envios por conexão] [host:porta]
+public class TournamentLoadGenerator {
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int perConnection = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        TournamentServer server = null;
+        Thread serverThread = null;
+        InetSocketAddress address;
+        if (args.length > 2) {
+            address = TournamentClient.parseAddress(args[2]);
+        } else {
+            server = new TournamentServer(0, null);
+            TournamentServer embedded = server;
+            serverThread = new Thread(() -> {
+                try {
+                    embedded.run();
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }, "tournament-server");
+            serverThread.start();
+            address = new InetSocketAddress("127.0.0.1", server.getPort());
+        }
+
+        // Inscrito que registra o atraso entre o envio e a chegada de cada top-K
+        LatencyHistogram updateLatency = new LatencyHistogram();
+        AtomicLong lastSendNanos = new AtomicLong();
+        TournamentClient subscriber = new TournamentClient(address,
+            (view, top) -> {
+                long sent = lastSendNanos.get();
+                // A primeira resposta é a da inscrição, antes de qualquer envio
+                if (sent != 0) updateLatency.record(System.nanoTime() - sent);
+            });
+        subscriber.subscribe(null, 10);
+        subscriber.start();
+
+        ArrayList<SocketChannel> channels = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            SocketChannel channel = SocketChannel.open(address);
+            channel.socket().setTcpNoDelay(true);
+            channels.add(channel);
+        }
+
+        int threads = Math.max(1, Math.min(connections, Runtime.getRuntime().availableProcessors() * 2));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long total = (long) connections * perConnection;
+        long start = System.nanoTime();
+        ArrayList<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            futures.add(executor.submit(() -> {
+                SplittableRandom random = new SplittableRandom(first);
+                ByteBuffer out = ByteBuffer.allocate(perConnection * 64);
+                for (int c = first; c < connections; c += threads) {
+                    out.clear();
+                    for (int i = 0; i < perConnection; i++) {
+                        PlayerScore score = new PlayerScore("Estação" + c + "-" + random.nextInt(50),
+                            150_000 + random.nextInt(400_000), random.nextInt(2000),
+                            Difficulty.values()[random.nextInt(Difficulty.values().length)]);
+                        TournamentProtocol.writeSubmit(out, score, score.playerName.getBytes(StandardCharsets.UTF_8));
+                    }
+                    out.flip();
+                    lastSendNanos.set(System.nanoTime());
+                    while (out.hasRemaining()) channels.get(c).write(out);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) future.get();
+        long sentNanos = System.nanoTime() - start;
+        System.out.printf(Locale.ROOT, "%d envios por %d conexões enviados em %.3f s (%.0f envios/s no cliente)%n",
+            total, connections, sentNanos / 1e9, total / (sentNanos / 1e9));
+
+        if (server != null) {
+            while (server.getSubmissions() < total) {
+                Thread.sleep(1);
+            }
+            long processedNanos = System.nanoTime() - start;
+            System.out.printf(Locale.ROOT, "Servidor processou %d envios em %.3f s (%.0f envios/s)%n",
+                total, processedNanos / 1e9, total / (processedNanos / 1e9));
+            System.out.println("Processamento por quadro: " + server.getProcessingHistogram().summaryLine());
+        }
+        Thread.sleep(200);
+        System.out.println("Chegada do top-K ao inscrito: " + updateLatency.summaryLine());
+
+        executor.shutdown();
+        for (SocketChannel channel : channels) channel.close();
+        subscriber.close();
+        if (server != null) {
+            server.close();
+            serverThread.join();
+        }
+    }
+}
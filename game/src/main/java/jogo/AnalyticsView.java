@@ -0,0 +1,152 @@
+package jogo;
+
+import java.awt.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.List;
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+
+// Janela de análises do histórico gravado: escolhe o agrupamento e a dificuldade e mostra a
+// tabela do RoundQuery. Carregar as gravações e consultar rodam fora do EDT
+class AnalyticsView extends JDialog {
+    private static final String[] COLUMNS = {"Grupo", "Rodadas", "Acertos", "Esgotadas", "Erradas/rodada",
+        "Média", "Melhor", "p50", "p95"};
+
+    private final Path directory;
+    private final JComboBox<RoundQuery.Dimension> dimensionBox = new JComboBox<>(RoundQuery.Dimension.values());
+    private final JComboBox<String> difficultyBox = new JComboBox<>();
+    private final JLabel statusLabel = new JLabel(" ");
+    private final RowModel model = new RowModel();
+    private RoundTable table;
+
+    AnalyticsView(Window owner, Path directory) {
+        super(owner, "📊 Análises das rodadas", ModalityType.MODELESS);
+        this.directory = directory;
+        difficultyBox.addItem("Todas");
+        for (Difficulty difficulty : Difficulty.values()) difficultyBox.addItem(difficulty.name());
+
+        JButton reloadButton = new JButton("🔄 Recarregar");
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 5));
+        controls.setBackground(Theme.LIGHT);
+        controls.add(new JLabel("Agrupar por:"));
+        controls.add(dimensionBox);
+        controls.add(new JLabel("Dificuldade:"));
+        controls.add(difficultyBox);
+        controls.add(reloadButton);
+
+        JTable rows = new JTable(model);
+        rows.setFont(Theme.NORMAL_FONT);
+        rows.setRowHeight(22);
+
+        statusLabel.setBorder(BorderFactory.createEmptyBorder(4, 10, 4, 10));
+        statusLabel.setForeground(Theme.DARK);
+
+        setLayout(new BorderLayout());
+        add(controls, BorderLayout.NORTH);
+        add(new JScrollPane(rows), BorderLayout.CENTER);
+        add(statusLabel, BorderLayout.SOUTH);
+        setSize(900, 500);
+        setLocationRelativeTo(owner);
+
+        dimensionBox.addActionListener(e -> query());
+        difficultyBox.addActionListener(e -> query());
+        reloadButton.addActionListener(e -> load());
+        load();
+    }
+
+    private void load() {
+        statusLabel.setText("Carregando gravações de " + directory + "...");
+        new SwingWorker<RoundTable, Void>() {
+            @Override
+            protected RoundTable doInBackground() throws Exception {
+                // Sem gravações ainda: tabela vazia
+                if (!Files.isDirectory(directory)) return new RoundTable();
+                return RoundTable.load(Collections.singletonList(directory));
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    table = get();
+                    query();
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    statusLabel.setText("Falha ao carregar as gravações: " + cause.getMessage());
+                }
+            }
+        }.execute();
+    }
+
+    private void query() {
+        if (table == null) return;
+        RoundTable current = table;
+        RoundQuery.Dimension dimension = (RoundQuery.Dimension) dimensionBox.getSelectedItem();
+        int selected = difficultyBox.getSelectedIndex();
+        Difficulty difficulty = selected <= 0 ? null : Difficulty.values()[selected - 1];
+        new SwingWorker<List<RoundQuery.Row>, Void>() {
+            private long elapsedNanos;
+
+            @Override
+            protected List<RoundQuery.Row> doInBackground() {
+                long start = System.nanoTime();
+                List<RoundQuery.Row> result = new RoundQuery(current).groupBy(dimension).difficulty(difficulty).run();
+                elapsedNanos = System.nanoTime() - start;
+                return result;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    model.setRows(get());
+                    statusLabel.setText(String.format(Locale.ROOT, "%d rodadas, %d grupos, consulta em %.1f ms",
+                        current.size(), model.getRowCount(), elapsedNanos / 1e6));
+                } catch (Exception e) {
+                    statusLabel.setText("Falha na consulta: " + e.getMessage());
+                }
+            }
+        }.execute();
+    }
+
+    private static final class RowModel extends AbstractTableModel {
+        private List<RoundQuery.Row> rows = Collections.emptyList();
+
+        void setRows(List<RoundQuery.Row> rows) {
+            this.rows = rows;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int column) {
+            RoundQuery.Row row = rows.get(rowIndex);
+            boolean anyHit = row.hits > 0;
+            switch (column) {
+                case 0: return row.label;
+                case 1: return row.rounds;
+                case 2: return row.hits;
+                case 3: return row.timeouts;
+                case 4: return String.format(Locale.ROOT, "%.3f", row.wrongKeyRate());
+                case 5: return anyHit ? PlayerScore.formatMicros((long) row.meanMicros) : "--";
+                case 6: return anyHit ? PlayerScore.formatMicros(row.bestMicros) : "--";
+                case 7: return anyHit ? PlayerScore.formatMicros(row.p50Micros) : "--";
+                default: return anyHit ? PlayerScore.formatMicros(row.p95Micros) : "--";
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package jogo;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import javax.swing.*;
+import javax.swing.border.Border;
+
+// Painel que pré-renderiza o fundo e a borda numa imagem compatível com a tela e só
+// copia essa imagem nos repaints. A imagem é refeita apenas quando o tamanho, o fundo,
+// a borda ou o tema (updateUI) mudam; os componentes filhos são desenhados por cima
+class CachedBackgroundPanel extends JPanel {
+    private BufferedImage cache;
+
+    CachedBackgroundPanel() {
+        super();
+    }
+
+    CachedBackgroundPanel(LayoutManager layout) {
+        super(layout);
+    }
+
+    // Desenha a parte estática do painel; chamado só quando o cache é refeito
+    protected void paintStatic(Graphics2D g, int width, int height) {
+        g.setColor(getBackground());
+        g.fillRect(0, 0, width, height);
+        Border border = getBorder();
+        if (border != null) {
+            border.paintBorder(this, g, 0, 0, width, height);
+        }
+    }
+
+    void invalidateBackground() {
+        cache = null;
+        repaint();
+    }
+
+    @Override
+    public void setBackground(Color background) {
+        super.setBackground(background);
+        cache = null;
+    }
+
+    @Override
+    public void setBorder(Border border) {
+        super.setBorder(border);
+        cache = null;
+    }
+
+    @Override
+    public void updateUI() {
+        super.updateUI();
+        cache = null;
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        cache = null;
+    }
+
+    private BufferedImage validCache() {
+        int width = getWidth();
+        int height = getHeight();
+        if (cache != null && cache.getWidth() == width && cache.getHeight() == height) {
+            return cache;
+        }
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        cache = configuration != null
+            ? configuration.createCompatibleImage(width, height, Transparency.OPAQUE)
+            : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = cache.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        paintStatic(g, width, height);
+        g.dispose();
+        return cache;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (getWidth() <= 0 || getHeight() <= 0) return;
+        g.drawImage(validCache(), 0, 0, null);
+    }
+
+    // A borda já está no cache
+    @Override
+    protected void paintBorder(Graphics g) {
+    }
+}
@@ -0,0 +1,8 @@
+package jogo;
+
+// Fonte de tempo monotônica usada pelo motor do jogo; a simulação usa um relógio virtual
+interface Clock {
+    Clock SYSTEM = System::nanoTime;
+    
+    long nanoTime();
+}
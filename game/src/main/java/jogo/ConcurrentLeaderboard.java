@@ -0,0 +1,200 @@
+package jogo;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+// Ranking compartilhado por vários GamePanels (e outras threads) na mesma JVM.
+// O melhor de cada (jogador, dificuldade) é trocado por CAS num ConcurrentHashMap e os
+// melhores ficam em ConcurrentSkipListSets ordenados por (tempo, seq). O top-K é publicado
+// como um snapshot imutável numa referência atômica, então a leitura é livre de espera
+class ConcurrentLeaderboard {
+    // Tamanho dos snapshots publicados; pedidos maiores percorrem a skip list
+    static final int SNAPSHOT_SIZE = 100;
+
+    // Entrada ordenada; a seq é do leaderboard para não depender do PlayerScore
+    private static final class Entry implements Comparable<Entry> {
+        final PlayerScore score;
+        final String key;
+        final long seq;
+
+        Entry(PlayerScore score, String key, long seq) {
+            this.score = score;
+            this.key = key;
+            this.seq = seq;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byTime = Long.compare(score.reactionTimeMicros, other.score.reactionTimeMicros);
+            return byTime != 0 ? byTime : Long.compare(seq, other.seq);
+        }
+    }
+
+    private static final class Snapshot {
+        final long version;
+        final List<PlayerScore> top;
+
+        Snapshot(long version, List<PlayerScore> top) {
+            this.version = version;
+            this.top = top;
+        }
+    }
+
+    private static final Snapshot EMPTY = new Snapshot(0, Collections.emptyList());
+
+    // Melhores ordenados de uma visão e o top-K publicado dela
+    private static final class View {
+        final ConcurrentSkipListSet<Entry> ranked = new ConcurrentSkipListSet<>();
+        final AtomicReference<Snapshot> snapshot = new AtomicReference<>(EMPTY);
+    }
+
+    private final ConcurrentHashMap<String, Entry> bestByPlayer = new ConcurrentHashMap<>();
+    // Estatísticas de todas as rodadas; cada PlayerStats é protegido pelo próprio monitor
+    private final ConcurrentHashMap<String, PlayerStats> statsByPlayer = new ConcurrentHashMap<>();
+    // Visões: 0 = geral, ordinal + 1 = dificuldade
+    private final View[] views = new View[Difficulty.values().length + 1];
+    private final AtomicLong nextSeq = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+    private final CopyOnWriteArrayList<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private final CopyOnWriteArrayList<Runnable> clearListeners = new CopyOnWriteArrayList<>();
+
+    ConcurrentLeaderboard() {
+        for (int i = 0; i < views.length; i++) views[i] = new View();
+    }
+
+    private static String key(String playerName, Difficulty difficulty) {
+        return RankingEngine.normalize(playerName) + '\u0000' + difficulty.ordinal();
+    }
+
+    // Chamado (na thread de quem submeteu) quando algum top-K publicado muda
+    void addChangeListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    void removeChangeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    // Chamado (na thread de quem limpou) depois de uma limpeza, antes dos de mudança; quem
+    // guarda scores próprios fora daqui descarta os seus
+    void addClearListener(Runnable listener) {
+        clearListeners.add(listener);
+    }
+
+    void removeClearListener(Runnable listener) {
+        clearListeners.remove(listener);
+    }
+
+    // Registra um score; retorna true se for o novo melhor do jogador nessa dificuldade
+    boolean submit(PlayerScore score) {
+        String key = key(score.playerName, score.difficulty);
+        PlayerStats stats = statsByPlayer.computeIfAbsent(key, k -> new PlayerStats());
+        synchronized (stats) {
+            stats.record(score.reactionTimeMicros);
+        }
+
+        Entry entry = new Entry(score, key, nextSeq.getAndIncrement());
+        Entry previous;
+        while (true) {
+            previous = bestByPlayer.get(key);
+            if (previous != null && score.reactionTimeMicros >= previous.score.reactionTimeMicros) {
+                return false;
+            }
+            boolean swapped = previous == null
+                ? bestByPlayer.putIfAbsent(key, entry) == null
+                : bestByPlayer.replace(key, previous, entry);
+            if (swapped) break;
+        }
+
+        // Inserir antes de remover: um leitor pode ver as duas entradas por um instante,
+        // e a leitura descarta a pior (a mais adiante na ordem)
+        ConcurrentSkipListSet<Entry> overall = views[0].ranked;
+        ConcurrentSkipListSet<Entry> byDifficulty = views[score.difficulty.ordinal() + 1].ranked;
+        overall.add(entry);
+        byDifficulty.add(entry);
+        if (previous != null) {
+            overall.remove(previous);
+            byDifficulty.remove(previous);
+        }
+
+        boolean changed = publishIfInTop(0, entry);
+        changed |= publishIfInTop(score.difficulty.ordinal() + 1, entry);
+        if (changed) {
+            for (Runnable listener : listeners) listener.run();
+        }
+        return true;
+    }
+
+    // Refaz o snapshot da visão se a entrada pode ter entrado nele. Cada refação leva uma
+    // versão tirada depois da alteração; só é publicada se for mais nova que a atual
+    private boolean publishIfInTop(int view, Entry entry) {
+        AtomicReference<Snapshot> snapshot = views[view].snapshot;
+        Snapshot current = snapshot.get();
+        List<PlayerScore> top = current.top;
+        if (top.size() >= SNAPSHOT_SIZE
+                && entry.score.reactionTimeMicros > top.get(top.size() - 1).reactionTimeMicros) {
+            return false;
+        }
+        Snapshot rebuilt = new Snapshot(version.incrementAndGet(), collect(view, SNAPSHOT_SIZE));
+        while (true) {
+            current = snapshot.get();
+            if (current.version > rebuilt.version) return true;
+            if (snapshot.compareAndSet(current, rebuilt)) return true;
+        }
+    }
+
+    // Percorre a skip list mantendo só a primeira (melhor) entrada de cada jogador
+    private List<PlayerScore> collect(int view, int k) {
+        ArrayList<PlayerScore> top = new ArrayList<>(Math.min(k, 16));
+        HashSet<String> seen = new HashSet<>();
+        for (Entry entry : views[view].ranked) {
+            if (top.size() >= k) break;
+            if (seen.add(entry.key)) top.add(entry.score);
+        }
+        return Collections.unmodifiableList(top);
+    }
+
+    // Top-K geral (difficulty null) ou da dificuldade; livre de espera até SNAPSHOT_SIZE
+    List<PlayerScore> topK(Difficulty difficulty, int k) {
+        int view = difficulty == null ? 0 : difficulty.ordinal() + 1;
+        if (k > SNAPSHOT_SIZE) return collect(view, k);
+        List<PlayerScore> top = views[view].snapshot.get().top;
+        return top.size() <= k ? top : top.subList(0, k);
+    }
+
+    List<PlayerScore> topK(int k) {
+        return topK(null, k);
+    }
+
+    PlayerScore getBest(String playerName, Difficulty difficulty) {
+        Entry entry = bestByPlayer.get(key(playerName, difficulty));
+        return entry == null ? null : entry.score;
+    }
+
+    // Cópia das estatísticas do jogador na dificuldade, somando todas as estações (null se nunca jogou)
+    PlayerStats getStats(String playerName, Difficulty difficulty) {
+        PlayerStats stats = statsByPlayer.get(key(playerName, difficulty));
+        if (stats == null) return null;
+        synchronized (stats) {
+            return stats.copy();
+        }
+    }
+    
+    // Número de (jogador, dificuldade) com score
+    int size() {
+        return bestByPlayer.size();
+    }
+
+    // Não é atômico em relação a envios simultâneos
+    void clear() {
+        bestByPlayer.clear();
+        statsByPlayer.clear();
+        for (View view : views) {
+            view.ranked.clear();
+            view.snapshot.set(new Snapshot(version.incrementAndGet(), Collections.emptyList()));
+        }
+        for (Runnable listener : clearListeners) listener.run();
+        for (Runnable listener : listeners) listener.run();
+    }
+}
@@ -0,0 +1,22 @@
+package jogo;
+
+import java.awt.Color;
+
+// Configurações de dificuldade
+enum Difficulty {
+    FÁCIL("FÁCIL", 3000, 5000, Color.GREEN),
+    MÉDIO("MÉDIO", 2000, 4000, Color.ORANGE),
+    DIFÍCIL("DIFÍCIL", 1500, 3000, Color.RED);
+    
+    final String displayName;
+    final int maxTime;
+    final int timeout;
+    final Color color;
+    
+    Difficulty(String displayName, int maxTime, int timeout, Color color) {
+        this.displayName = displayName;
+        this.maxTime = maxTime;
+        this.timeout = timeout;
+        this.color = color;
+    }
+}
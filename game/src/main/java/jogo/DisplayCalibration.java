@@ -0,0 +1,199 @@
+package jogo;
+
+import java.awt.*;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+// Latência de tela de uma estação: quanto tempo depois do instante tomado como início do
+// estímulo (a volta de show() + sync() no StimulusCanvas) a tecla alvo de fato aparece. Sem
+// sensor de luz o pixel não é visível daqui; a calibração mede pelo próprio caminho de
+// renderização ativa só os instantes de apresentação. Em cada rodada, quadros de cores
+// alternadas são apresentados sem pausa, cada um no EDT, e ficam a duração de show() + sync()
+// e o intervalo entre apresentações:
+//   - intervalo perto do período: show() bloqueia até a troca de buffer, que já aconteceu
+//     quando o instante é tomado;
+//   - bem menor: a troca fica para o próximo vblank, em média meio período depois.
+// Com a varredura até a altura do alvo, isso dá uma estimativa do desvio, que é um modelo e
+// não medida: só é descontada do tempo de reação com -Divanjogo.applyDisplayModel=true. O que
+// é descontado por padrão é só a latência informada em -Divanjogo.panelLatencyMicros
+// (fabricante ou medição externa). Tudo fica por tela em display-calibration.properties, no
+// diretório de dados.
+final class DisplayCalibration {
+    static final int RUNS = 5;
+    static final int FRAMES_PER_RUN = 60;
+    // Sem taxa informada pela tela e sem vsync detectado, supõe 60 Hz
+    private static final long DEFAULT_REFRESH_MICROS = 16_667L;
+    private static final String FILE_NAME = "display-calibration.properties";
+
+    // Calibrações já lidas ou feitas, por tela (null = tela sem calibração). Só acessado no EDT
+    private static final HashMap<String, DisplayCalibration> CACHE = new HashMap<>();
+    // Lido no EDT (forDevice) e gravado fora dele (save)
+    private static Properties stored;
+
+    final String deviceId;
+    // Desvio estimado pelo modelo de vsync e varredura
+    final long estimateMicros;
+    final long refreshMicros;
+    final boolean vsyncBlocking;
+    // Mediana do tempo de show() + sync()
+    final long presentMicros;
+    // Diferença entre a maior e a menor mediana de show() + sync() das rodadas
+    final long spreadMicros;
+    final long dateMillis;
+
+    DisplayCalibration(String deviceId, long estimateMicros, long refreshMicros, boolean vsyncBlocking,
+            long presentMicros, long spreadMicros, long dateMillis) {
+        this.deviceId = deviceId;
+        this.estimateMicros = estimateMicros;
+        this.refreshMicros = refreshMicros;
+        this.vsyncBlocking = vsyncBlocking;
+        this.presentMicros = presentMicros;
+        this.spreadMicros = spreadMicros;
+        this.dateMillis = dateMillis;
+    }
+
+    static long panelLatencyMicros() {
+        return Long.getLong("ivanjogo.panelLatencyMicros", 0L);
+    }
+
+    static boolean applyModel() {
+        return Boolean.getBoolean("ivanjogo.applyDisplayModel");
+    }
+
+    // Desvio descontado do tempo de reação numa tela com esta calibração (ou sem, com null)
+    static long offsetMicros(DisplayCalibration calibration) {
+        return panelLatencyMicros() + (calibration != null && applyModel() ? calibration.estimateMicros : 0L);
+    }
+
+    static String deviceId(GraphicsConfiguration configuration) {
+        GraphicsDevice device = configuration.getDevice();
+        Rectangle bounds = configuration.getBounds();
+        return (device.getIDstring() + "-" + bounds.width + "x" + bounds.height).replaceAll("[^A-Za-z0-9_.-]", "_");
+    }
+
+    // Apresenta RUNS x FRAMES_PER_RUN quadros no canvas, que já deve estar na tela. Bloqueia
+    // por alguns segundos; chamado fora do EDT, com o canvas em beginCalibration. O canvas só
+    // é tocado no EDT: cada quadro vai por invokeAndWait e é cronometrado lá
+    static DisplayCalibration measure(StimulusCanvas canvas, Clock clock, Color first, Color second) throws Exception {
+        GraphicsConfiguration[] configuration = new GraphicsConfiguration[1];
+        double[] scanoutFraction = new double[1];
+        EventQueue.invokeAndWait(() -> {
+            configuration[0] = canvas.getGraphicsConfiguration();
+            Rectangle screen = configuration[0].getBounds();
+            double targetY = canvas.getLocationOnScreen().y + canvas.getHeight() / 2.0 - screen.y;
+            scanoutFraction[0] = Math.max(0.0, Math.min(1.0, targetY / screen.height));
+        });
+        int reportedHz = configuration[0].getDevice().getDisplayMode().getRefreshRate();
+        long reportedMicros = reportedHz > 0 ? 1_000_000L / reportedHz : 0L;
+
+        long[] runPresents = new long[RUNS];
+        long[] presents = new long[RUNS * FRAMES_PER_RUN];
+        long[] frameTimes = new long[FRAMES_PER_RUN];
+        long[] intervals = new long[FRAMES_PER_RUN - 1];
+        long[] runPresent = new long[FRAMES_PER_RUN];
+        long[] runIntervals = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            for (int frame = 0; frame < FRAMES_PER_RUN; frame++) {
+                int index = frame;
+                Color color = frame % 2 == 0 ? first : second;
+                EventQueue.invokeAndWait(() -> {
+                    long start = clock.nanoTime();
+                    frameTimes[index] = canvas.presentFlash(color);
+                    runPresent[index] = (frameTimes[index] - start) / 1000L;
+                });
+                if (frame > 0) intervals[frame - 1] = (frameTimes[frame] - frameTimes[frame - 1]) / 1000L;
+            }
+            System.arraycopy(runPresent, 0, presents, run * FRAMES_PER_RUN, FRAMES_PER_RUN);
+            runPresents[run] = median(runPresent);
+            runIntervals[run] = median(intervals);
+        }
+        long interval = median(runIntervals);
+        boolean vsync = reportedMicros > 0 ? interval >= reportedMicros * 3 / 4 : interval >= 4_000L;
+        long refresh = vsync && reportedMicros == 0 ? interval : reportedMicros > 0 ? reportedMicros : DEFAULT_REFRESH_MICROS;
+        long estimate = (vsync ? 0L : refresh / 2) + Math.round(refresh * scanoutFraction[0]);
+        long[] sorted = runPresents.clone();
+        Arrays.sort(sorted);
+        return new DisplayCalibration(deviceId(configuration[0]), estimate, refresh, vsync, median(presents),
+            sorted[sorted.length - 1] - sorted[0], System.currentTimeMillis());
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    // Calibração salva para a tela, ou null
+    static DisplayCalibration forDevice(GraphicsConfiguration configuration) {
+        String id = deviceId(configuration);
+        if (CACHE.containsKey(id)) return CACHE.get(id);
+        Properties properties = stored();
+        DisplayCalibration calibration = null;
+        String estimate = properties.getProperty(id + ".estimateMicros");
+        if (estimate != null) {
+            try {
+                calibration = new DisplayCalibration(id, Long.parseLong(estimate),
+                    Long.parseLong(properties.getProperty(id + ".refreshMicros", "0")),
+                    Boolean.parseBoolean(properties.getProperty(id + ".vsync")),
+                    Long.parseLong(properties.getProperty(id + ".presentMicros", "0")),
+                    Long.parseLong(properties.getProperty(id + ".spreadMicros", "0")),
+                    Long.parseLong(properties.getProperty(id + ".date", "0")));
+            } catch (NumberFormatException e) {
+                System.err.println("Calibração de tela inválida para " + id + ": " + e.getMessage());
+            }
+        }
+        CACHE.put(id, calibration);
+        return calibration;
+    }
+
+    private static synchronized Properties stored() {
+        if (stored == null) {
+            stored = new Properties();
+            Path path = ScoreStore.defaultDirectory().resolve(FILE_NAME);
+            if (Files.exists(path)) {
+                try (Reader in = Files.newBufferedReader(path)) {
+                    stored.load(in);
+                } catch (IOException e) {
+                    System.err.println("Falha ao ler " + path + ": " + e.getMessage());
+                }
+            }
+        }
+        return stored;
+    }
+
+    // Passa a valer para todas as estações desta tela; só no EDT
+    void install() {
+        CACHE.put(deviceId, this);
+    }
+
+    // Grava no diretório de dados; fora do EDT
+    void save() throws IOException {
+        synchronized (DisplayCalibration.class) {
+            store(stored());
+        }
+    }
+
+    private void store(Properties properties) throws IOException {
+        properties.setProperty(deviceId + ".estimateMicros", Long.toString(estimateMicros));
+        properties.setProperty(deviceId + ".refreshMicros", Long.toString(refreshMicros));
+        properties.setProperty(deviceId + ".vsync", Boolean.toString(vsyncBlocking));
+        properties.setProperty(deviceId + ".presentMicros", Long.toString(presentMicros));
+        properties.setProperty(deviceId + ".spreadMicros", Long.toString(spreadMicros));
+        properties.setProperty(deviceId + ".date", Long.toString(dateMillis));
+        Path directory = ScoreStore.defaultDirectory();
+        Files.createDirectories(directory);
+        Path temp = directory.resolve(FILE_NAME + ".tmp");
+        try (Writer out = Files.newBufferedWriter(temp)) {
+            properties.store(out, "Latência de tela por estação (µs)");
+        }
+        Files.move(temp, directory.resolve(FILE_NAME), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    String summary() {
+        return String.format(Locale.ROOT, "desvio %s, estimativa %s%s (%.0f Hz, %s, apresentação %s, variação %s)",
+            PlayerScore.formatMicros(offsetMicros(this)), PlayerScore.formatMicros(estimateMicros), applyModel() ? "" : " não aplicada",
+            1e6 / Math.max(1L, refreshMicros), vsyncBlocking ? "com vsync" : "sem vsync",
+            PlayerScore.formatMicros(presentMicros), PlayerScore.formatMicros(spreadMicros));
+    }
+}
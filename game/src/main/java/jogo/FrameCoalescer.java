@@ -0,0 +1,44 @@
+package jogo;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.SwingUtilities;
+
+// Junta os pedidos de atualização de uma tela, vindos de qualquer thread, em no máximo uma
+// execução no EDT por quadro: o primeiro pedido agenda, os seguintes até a execução são
+// absorvidos, e uma execução logo depois da anterior espera o resto do quadro
+final class FrameCoalescer {
+    static final long FRAME_NANOS = 16_666_667L;
+
+    private final Runnable update;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final javax.swing.Timer delayed;
+    // Só no EDT
+    private long lastRunNanos = System.nanoTime() - FRAME_NANOS;
+
+    FrameCoalescer(Runnable update) {
+        this.update = update;
+        this.delayed = new javax.swing.Timer(0, e -> run());
+        this.delayed.setRepeats(false);
+    }
+
+    void request() {
+        if (scheduled.compareAndSet(false, true)) SwingUtilities.invokeLater(this::schedule);
+    }
+
+    private void schedule() {
+        long wait = lastRunNanos + FRAME_NANOS - System.nanoTime();
+        if (wait <= 0) {
+            run();
+        } else {
+            delayed.setInitialDelay((int) Math.max(1L, wait / 1_000_000L));
+            delayed.restart();
+        }
+    }
+
+    private void run() {
+        // Liberado antes: um pedido feito durante a atualização agenda a próxima
+        scheduled.set(false);
+        lastRunNanos = System.nanoTime();
+        update.run();
+    }
+}
@@ -0,0 +1,64 @@
+package jogo;
+
+import java.util.Arrays;
+
+// Um único timer Swing de 10 ms para todas as estações da JVM. Só as estações com rodada
+// em andamento ficam registradas, e o timer para quando não há nenhuma. Só usado no EDT
+class FrameTicker {
+    // Chamado no EDT a cada tick com o instante lido uma vez para todos
+    interface Tickable {
+        void tick(long nowNanos);
+    }
+
+    static final int PERIOD_MILLIS = 10;
+
+    private final Clock clock;
+    private final javax.swing.Timer timer;
+    private Tickable[] active = new Tickable[4];
+    private int count;
+    private long lastTickNanos;
+
+    FrameTicker(Clock clock) {
+        this.clock = clock;
+        this.timer = new javax.swing.Timer(PERIOD_MILLIS, e -> tick());
+        this.timer.setCoalesce(true);
+    }
+
+    void activate(Tickable tickable) {
+        for (int i = 0; i < count; i++) {
+            if (active[i] == tickable) return;
+        }
+        if (count == active.length) active = Arrays.copyOf(active, count * 2);
+        active[count++] = tickable;
+        if (!timer.isRunning()) {
+            lastTickNanos = clock.nanoTime();
+            timer.start();
+        }
+    }
+
+    void deactivate(Tickable tickable) {
+        for (int i = 0; i < count; i++) {
+            if (active[i] == tickable) {
+                // Troca com o último; a ordem entre estações não importa
+                active[i] = active[--count];
+                active[count] = null;
+                break;
+            }
+        }
+        if (count == 0) timer.stop();
+    }
+
+    int getActiveCount() {
+        return count;
+    }
+
+    private void tick() {
+        long now = clock.nanoTime();
+        Latency.TIMER_TICK_DRIFT.record(now - lastTickNanos - PERIOD_MILLIS * 1_000_000L);
+        lastTickNanos = now;
+        // De trás para frente: uma estação pode se desativar durante o próprio tick
+        for (int i = count - 1; i >= 0; i--) {
+            active[i].tick(now);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package jogo;
+
+import java.util.random.RandomGenerator;
+
+// Lógica de uma rodada, independente de Swing: estado, sorteio da tecla, regras de
+// dificuldade, timeout e pontuação. Quem dirige o motor informa os instantes dos eventos
+class GameEngine {
+    enum State { IDLE, WAITING, ACTIVE }
+    
+    // Recebe os eventos da rodada na ordem em que o motor os processa (gravação das rodadas)
+    interface RoundListener {
+        void roundPrepared(String playerName, Difficulty difficulty, long startNanos, long plannedOnsetNanos);
+        void stimulusStarted(int targetIndex, long onsetNanos);
+        // Toda tecla durante a rodada, inclusive antes do estímulo e as erradas
+        void keyPressed(int keyIndex, long captureNanos, long dispatchDelayMicros);
+        void timedOut(long nowNanos);
+        void cancelled(long nowNanos);
+        // Latência de tela descontada das próximas rodadas
+        void displayOffsetChanged(long offsetMicros);
+    }
+    
+    // Melhor score já registrado do jogador na dificuldade, consultado antes do registro para o RECORDE
+    interface PersonalBests {
+        PlayerScore getBest(String playerName, Difficulty difficulty);
+    }
+    
+    // Teclas disponíveis para o jogo
+    static final String[] AVAILABLE_KEYS = {
+        "A", "B", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L", "M",
+        "N", "O", "P", "Q", "R", "S", "T", "U", "V", "W", "X", "Y", "Z",
+        "0", "1", "2", "3", "4", "5", "6", "7", "8", "9"
+    };
+    
+    // Espera aleatória antes do estímulo: 1.5-3.5 segundos
+    static final int MIN_DELAY_MILLIS = 1500;
+    static final int DELAY_RANGE_MILLIS = 2000;
+    
+    private final Clock clock;
+    private final RandomGenerator random;
+    private final RankingEngine ranking;
+    private final PersonalBests bests;
+    
+    private State state = State.IDLE;
+    private String playerName;
+    private Difficulty difficulty = Difficulty.MÉDIO;
+    private int targetIndex = -1;
+    private long stimulusNanos;
+    // Instante planejado para o estímulo, definido em prepareRound
+    private long plannedOnsetNanos;
+    private int wrongKeys;
+    // Latência de tela da estação (DisplayCalibration), descontada do tempo medido
+    private long displayOffsetMicros;
+    private RoundListener listener;
+    
+    GameEngine(Clock clock, RandomGenerator random, RankingEngine ranking) {
+        this(clock, random, ranking, ranking::getBest);
+    }
+    
+    // O RECORDE é contra bests, que pode ver mais que o ranking (o dividido entre as estações).
+    // Com ranking null o motor não registra o score: quem chama registra quando quiser
+    GameEngine(Clock clock, RandomGenerator random, RankingEngine ranking, PersonalBests bests) {
+        this.clock = clock;
+        this.random = random;
+        this.ranking = ranking;
+        this.bests = bests;
+    }
+    
+    void setRoundListener(RoundListener listener) {
+        this.listener = listener;
+        if (listener != null && displayOffsetMicros != 0L) listener.displayOffsetChanged(displayOffsetMicros);
+    }
+    
+    void setDisplayOffsetMicros(long offsetMicros) {
+        if (offsetMicros == displayOffsetMicros) return;
+        displayOffsetMicros = offsetMicros;
+        if (listener != null) listener.displayOffsetChanged(offsetMicros);
+    }
+    
+    long getDisplayOffsetMicros() {
+        return displayOffsetMicros;
+    }
+    
+    // Inicia a espera e retorna o atraso sorteado (ms) até o estímulo
+    int prepareRound(String playerName, Difficulty difficulty) {
+        int delayMillis = MIN_DELAY_MILLIS + random.nextInt(DELAY_RANGE_MILLIS);
+        long now = clock.nanoTime();
+        prepareRound(playerName, difficulty, now, now + delayMillis * 1_000_000L);
+        return delayMillis;
+    }
+    
+    // Inicia a espera com um instante de estímulo já definido (replay de rodadas gravadas)
+    void prepareRound(String playerName, Difficulty difficulty, long startNanos, long plannedOnsetNanos) {
+        this.playerName = playerName;
+        this.difficulty = difficulty;
+        state = State.WAITING;
+        targetIndex = -1;
+        stimulusNanos = 0L;
+        wrongKeys = 0;
+        this.plannedOnsetNanos = plannedOnsetNanos;
+        if (listener != null) listener.roundPrepared(playerName, difficulty, startNanos, plannedOnsetNanos);
+    }
+    
+    // Sorteia a tecla alvo; o estímulo só começa em startStimulus
+    String drawTargetKey() {
+        if (state != State.WAITING) return null;
+        return selectTargetKey(random.nextInt(AVAILABLE_KEYS.length));
+    }
+    
+    // Define a tecla alvo sem sorteio (replay de rodadas gravadas)
+    String selectTargetKey(int index) {
+        if (state != State.WAITING) return null;
+        targetIndex = index;
+        return AVAILABLE_KEYS[targetIndex];
+    }
+    
+    // Marca o instante em que a tecla alvo ficou visível
+    void startStimulus(long onsetNanos) {
+        if (state != State.WAITING) return;
+        stimulusNanos = onsetNanos;
+        state = State.ACTIVE;
+        if (listener != null) listener.stimulusStarted(targetIndex, onsetNanos);
+    }
+    
+    // Processa uma tecla capturada em captureNanos; keyIndex é o índice em AVAILABLE_KEYS
+    // ou -1 para teclas fora do jogo. Retorna null se a rodada não está ativa ou a tecla está errada
+    RoundResult keyPressed(int keyIndex, long captureNanos, long dispatchDelayMicros) {
+        if (state == State.IDLE) return null;
+        if (listener != null) listener.keyPressed(keyIndex, captureNanos, dispatchDelayMicros);
+        if (state != State.ACTIVE) return null;
+        if (keyIndex != targetIndex) {
+            wrongKeys++;
+            return null;
+        }
+        state = State.IDLE;
+        
+        // Tempo até a captura, que já é a chegada da tecla à fila; o atraso do EDT só é informado
+        long rawMicros = Math.max(0L, (captureNanos - stimulusNanos) / 1000L);
+        dispatchDelayMicros = Math.max(0L, dispatchDelayMicros);
+        // A tecla alvo só ficou visível displayOffset depois do instante do estímulo
+        long reactionMicros = Math.max(0L, rawMicros - displayOffsetMicros);
+        
+        PlayerScore score = new PlayerScore(playerName, reactionMicros, dispatchDelayMicros, difficulty);
+        score.rawReactionTimeMicros = rawMicros;
+        PlayerScore previousBest = bests.getBest(playerName, difficulty);
+        boolean personalBest = previousBest == null || reactionMicros < previousBest.reactionTimeMicros;
+        if (ranking != null) {
+            long rankingStart = System.nanoTime();
+            ranking.submit(score);
+            Latency.ADD_TO_RANKING.recordSince(rankingStart);
+        }
+        boolean withinTimeout = reactionMicros <= difficulty.timeout * 1000L;
+        return new RoundResult(score, personalBest, withinTimeout, rate(reactionMicros, personalBest, withinTimeout), wrongKeys,
+            getOnsetErrorNanos() / 1000L);
+    }
+    
+    private static RoundResult.Rating rate(long reactionMicros, boolean personalBest, boolean withinTimeout) {
+        if (!withinTimeout) return RoundResult.Rating.LATE;
+        if (personalBest) return RoundResult.Rating.RECORD;
+        if (reactionMicros <= 200_000L) return RoundResult.Rating.INCREDIBLE;
+        if (reactionMicros <= 300_000L) return RoundResult.Rating.GREAT;
+        return RoundResult.Rating.GOOD;
+    }
+    
+    // Encerra a rodada ativa por tempo esgotado; retorna false se não havia rodada ativa
+    boolean timeout() {
+        if (state != State.ACTIVE) return false;
+        state = State.IDLE;
+        if (listener != null) listener.timedOut(clock.nanoTime());
+        return true;
+    }
+    
+    // Verdadeiro quando o prazo da dificuldade já passou em nowNanos
+    boolean isTimedOut(long nowNanos) {
+        return state == State.ACTIVE && elapsedMillis(nowNanos) >= difficulty.timeout;
+    }
+    
+    void cancel() {
+        if (state != State.IDLE && listener != null) listener.cancelled(clock.nanoTime());
+        state = State.IDLE;
+        targetIndex = -1;
+        stimulusNanos = 0L;
+    }
+    
+    long elapsedMillis(long nowNanos) {
+        if (state != State.ACTIVE) return 0L;
+        return Math.max(0L, (nowNanos - stimulusNanos) / 1_000_000L);
+    }
+    
+    boolean isOverMaxTime(long elapsedMillis) {
+        return elapsedMillis > difficulty.maxTime;
+    }
+    
+    Clock getClock() {
+        return clock;
+    }
+    
+    State getState() {
+        return state;
+    }
+    
+    boolean isActive() {
+        return state == State.ACTIVE;
+    }
+    
+    String getTargetKey() {
+        return targetIndex < 0 ? "" : AVAILABLE_KEYS[targetIndex];
+    }
+    
+    int getTargetIndex() {
+        return targetIndex;
+    }
+    
+    Difficulty getDifficulty() {
+        return difficulty;
+    }
+    
+    long getStimulusNanos() {
+        return stimulusNanos;
+    }
+    
+    long getPlannedOnsetNanos() {
+        return plannedOnsetNanos;
+    }
+    
+    // Diferença entre o início real e o planejado do estímulo (positivo = atrasado)
+    long getOnsetErrorNanos() {
+        return stimulusNanos == 0L ? 0L : stimulusNanos - plannedOnsetNanos;
+    }
+    
+    int getWrongKeys() {
+        return wrongKeys;
+    }
+}
@@ -0,0 +1,1085 @@
+package jogo;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.util.concurrent.ThreadLocalRandom;
+import javax.swing.*;
+
+class GamePanel extends CachedBackgroundPanel implements FrameTicker.Tickable {
+    private JLabel instructionLabel;
+    // Tecla alvo por renderização ativa, para o instante do estímulo ser o da apresentação
+    private StimulusCanvas targetKeyView;
+    private TimerDisplay timerDisplay;
+    private JLabel resultLabel;
+    private JLabel rankingLabel;
+    private JLabel difficultyLabel;
+    private JLabel bestScoreLabel;
+    private JLabel statsLabel;
+    private JLabel currentPlayerLabel;
+    private JButton startButton;
+    private JButton resetRankingButton;
+    private JButton changePlayerButton;
+    private JButton analyticsButton;
+    private JButton scoresButton;
+    private JButton calibrateButton;
+    private JComboBox<String> difficultyComboBox;
+    private JComboBox<String> sessionComboBox;
+    
+    // Lógica da rodada fica no motor; o painel só cuida da interface e dos timers
+    GameEngine engine;
+    private Clock clock;
+    private KeyCapture keyCapture;
+    // Timer de quadros e agendador do estímulo são divididos com as outras estações
+    private final StationResources resources;
+    private StimulusScheduler.Request pendingStimulus;
+    private javax.swing.Timer feedbackTimer;
+    private String currentPlayerName;
+    
+    // Sistema de ranking
+    RankingEngine ranking;
+    // Acertos fora de sessão ainda não registrados no ranking: o registro (índice, ordenação e
+    // estatísticas do jogador) sai do tratamento da tecla e é feito em lote no próximo quadro
+    private final java.util.ArrayList<PlayerScore> unranked = new java.util.ArrayList<>();
+    // Armazenamento, ranking dividido, torneio e estatísticas recebem os scores por aqui, fora
+    // do EDT; o painel só publica
+    private final ScorePipeline scorePipeline;
+    // Armazenamento aberto em segundo plano pelo painel interativo; o assinante dele espera a
+    // abertura com os eventos na fila (null: indisponível)
+    private final java.util.concurrent.CompletableFuture<ScoreStore> ownStore = new java.util.concurrent.CompletableFuture<>();
+    // Uma limpeza durante a abertura vale também para os scores recuperados
+    private boolean storeLoading;
+    private boolean clearedWhileLoading;
+    // Só na thread do assinante do armazenamento
+    private boolean storeFailureReported;
+    // Gravação das rodadas aberta em segundo plano; passa a valer na próxima rodada
+    private RoundRecorder pendingRecorder;
+    // Cliente do servidor do torneio (-Divanjogo.server=host:porta) e o ranking compartilhado recebido
+    private volatile TournamentClient tournamentClient;
+    private java.util.List<PlayerScore> sharedRanking;
+    // Ranking compartilhado com os outros painéis da mesma JVM (null se o painel joga sozinho)
+    private final ConcurrentLeaderboard leaderboard;
+    // Ranking e melhor score redesenhados no máximo uma vez por quadro, por mais scores que cheguem
+    private final FrameCoalescer scoreDisplays = new FrameCoalescer(this::refreshScoreDisplays);
+    private final Runnable leaderboardListener = scoreDisplays::request;
+    // Limpeza do ranking compartilhado, feita por qualquer estação: os scores locais somem também
+    private final Runnable leaderboardClearListener = () -> SwingUtilities.invokeLater(this::clearLocalScores);
+    private final int MAX_RANKING_ENTRIES = 10;
+    // Avisado no fim de cada acerto, depois do feedback; ranking e telas mudam no próximo quadro (InputLoadHarness)
+    java.util.function.Consumer<RoundResult> roundResultListener;
+    
+    // Sessão em lote: rodadas seguidas sem START, com a próxima já agendada durante o feedback.
+    // Os scores vão para o armazenamento a cada rodada; ranking, ranking compartilhado e telas
+    // só no fim
+    private static final int[] SESSION_LENGTHS = {1, 10, 20, 50};
+    private int sessionLength;
+    private int sessionRound;
+    private int sessionHits;
+    private long sessionSumMicros;
+    private long sessionBestMicros;
+    private final java.util.ArrayList<PlayerScore> sessionScores = new java.util.ArrayList<>();
+    
+    // Cores modernas, compartilhadas pelo tema
+    private static final Color PRIMARY_COLOR = Theme.PRIMARY;
+    private static final Color SUCCESS_COLOR = Theme.SUCCESS;
+    private static final Color WARNING_COLOR = Theme.WARNING;
+    private static final Color DANGER_COLOR = Theme.DANGER;
+    private static final Color DARK_COLOR = Theme.DARK;
+    private static final Color LIGHT_COLOR = Theme.LIGHT;
+    
+    private Difficulty currentDifficulty;
+    // Primeiro paint de qualquer estação da JVM (StartupTrace); só no EDT
+    private static boolean firstFramePainted;
+    
+    public GamePanel() {
+        this(true, StationResources.defaults());
+    }
+    
+    GamePanel(boolean interactive) {
+        this(interactive, StationResources.defaults());
+    }
+    
+    // Sem diálogo de nome nem persistência própria quando não interativo (benchmarks, execução
+    // headless, estações do StationHost). Com um leaderboard nos recursos, o painel divide o
+    // ranking com os outros painéis que o usam
+    GamePanel(boolean interactive, StationResources resources) {
+        this.resources = resources;
+        this.leaderboard = resources.leaderboard;
+        this.scorePipeline = resources.scorePipeline;
+        ranking = new RankingEngine();
+        clock = resources.clock;
+        // O painel registra os scores no ranking (os da sessão só no fim dela)
+        engine = new GameEngine(clock, ThreadLocalRandom.current(), null, this::recordedBest);
+        if (resources.recordingDirectory != null) {
+            engine.setRoundListener(openRoundRecorder(resources.recordingDirectory));
+        }
+        currentDifficulty = Difficulty.MÉDIO;
+        initializeComponents();
+        setupLayout();
+        setupEventListeners();
+        resetGame();
+        updateRankingDisplay();
+        if (interactive) {
+            Latency.dumpOnExit(ScoreStore.defaultDirectory());
+            StationMetrics.INSTANCE.watch(leaderboard != null ? leaderboard::size : ranking::size, resources.scoreStore);
+            StationMetrics.INSTANCE.watchPipeline(scorePipeline);
+            StationMetrics.INSTANCE.publish();
+            subscribeOwnEffects(resources.scoreStore == null);
+            openInBackground(resources.recordingDirectory == null);
+            // Nome pedido depois que a janela aparece, não antes
+            SwingUtilities.invokeLater(this::askPlayerName);
+        }
+    }
+    
+    // Assinantes do painel interativo: o armazenamento que ele mesmo abre e o torneio. Scores
+    // feitos antes de o cliente do torneio abrir (só com a rede muito lenta) não vão para ele
+    private void subscribeOwnEffects(boolean openOwnStore) {
+        if (openOwnStore) {
+            // append espera vaga na fila limitada do ScoreStore: disco lento segura este assinante
+            scorePipeline.subscribe("armazenamento", ScorePipeline.PERSIST | ScorePipeline.CLEAR, (score, kind) -> {
+                ScoreStore store = ownStore.get();
+                if (store == null) return;
+                if (kind == ScorePipeline.CLEAR) store.appendClear();
+                else store.append(score);
+                if (store.isFailed() && !storeFailureReported) {
+                    storeFailureReported = true;
+                    SwingUtilities.invokeLater(() ->
+                        showFeedback("⚠️ Falha no armazenamento: os scores ficam só na memória", DANGER_COLOR));
+                }
+            });
+        }
+        scorePipeline.subscribe("torneio", ScorePipeline.SHARE, (score, kind) -> {
+            TournamentClient client = tournamentClient;
+            if (client != null) client.submit(score);
+        });
+    }
+    
+    // Armazenamento, gravação das rodadas e torneio abrem numa thread à parte, para a janela
+    // não esperar por disco nem rede; o resultado é aplicado no EDT em backgroundOpened. O
+    // ranking dos scores recuperados é montado nesta thread e só entregue pronto ao EDT
+    private void openInBackground(boolean recordRounds) {
+        storeLoading = resources.scoreStore == null;
+        Thread thread = new Thread(() -> {
+            ScoreStore store = null;
+            RankingEngine recovered = new RankingEngine();
+            if (storeLoading) {
+                store = openScoreStore(recovered::submit, scorePipeline);
+                // As gravações feitas durante a abertura seguem já, antes do EDT ver os recuperados
+                ownStore.complete(store);
+                StartupTrace.mark("armazenamento: " + recovered.getTotalScores() + " scores");
+            }
+            RoundRecorder recorder = null;
+            if (recordRounds) {
+                recorder = openRoundRecorder(RoundRecorder.defaultDirectory());
+                StartupTrace.mark("gravação das rodadas");
+            }
+            TournamentClient client = connectTournament();
+            ScoreStore openedStore = store;
+            RoundRecorder openedRecorder = recorder;
+            SwingUtilities.invokeLater(() -> backgroundOpened(openedStore, recovered, openedRecorder, client));
+        }, "startup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    private void backgroundOpened(ScoreStore store, RankingEngine recovered, RoundRecorder recorder,
+            TournamentClient client) {
+        if (storeLoading) {
+            storeLoading = false;
+            // Os recuperados são anteriores a qualquer limpeza feita durante a abertura. Sem
+            // limpeza, o ranking recuperado passa a ser o do painel, com as poucas rodadas
+            // jogadas durante a abertura acrescentadas
+            if (!clearedWhileLoading) {
+                recovered.submitAll(ranking);
+                ranking = recovered;
+            }
+            StationMetrics.INSTANCE.watch(leaderboard != null ? leaderboard::size : ranking::size, store);
+        }
+        pendingRecorder = recorder;
+        tournamentClient = client;
+        refreshScoreDisplays();
+        StartupTrace.mark("inicialização completa");
+    }
+    
+    // Recupera os scores salvos; sem armazenamento (null) o jogo segue apenas em memória. No
+    // fechamento, os scores ainda no pipeline chegam ao armazenamento antes
+    private static ScoreStore openScoreStore(java.util.function.Consumer<PlayerScore> recovered, ScorePipeline pipeline) {
+        try {
+            ScoreStore store = ScoreStore.open(ScoreStore.defaultDirectory(), recovered);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    if (!pipeline.awaitIdle(2000)) System.err.println("Scores pendentes não chegaram ao armazenamento");
+                    store.close();
+                } catch (java.io.IOException | InterruptedException e) {
+                    System.err.println("Falha ao fechar o armazenamento de scores: " + e.getMessage());
+                }
+            }));
+            return store;
+        } catch (java.io.IOException e) {
+            System.err.println("Armazenamento de scores indisponível: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    private RoundRecorder openRoundRecorder(java.nio.file.Path directory) {
+        try {
+            RoundRecorder recorder = RoundRecorder.open(directory, clock);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    recorder.close();
+                } catch (java.io.IOException e) {
+                    System.err.println("Falha ao fechar a gravação de rodadas: " + e.getMessage());
+                }
+            }));
+            return recorder;
+        } catch (java.io.IOException e) {
+            System.err.println("Gravação de rodadas indisponível: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    // Com servidor configurado, os scores também vão para o ranking compartilhado do torneio
+    private TournamentClient connectTournament() {
+        String server = System.getProperty("ivanjogo.server");
+        if (server == null || server.isEmpty()) return null;
+        try {
+            TournamentClient client = new TournamentClient(TournamentClient.parseAddress(server), (view, top) ->
+                SwingUtilities.invokeLater(() -> {
+                    sharedRanking = top;
+                    updateRankingDisplay();
+                }));
+            client.subscribe(null, MAX_RANKING_ENTRIES);
+            client.start();
+            return client;
+        } catch (java.io.IOException | IllegalArgumentException e) {
+            System.err.println("Servidor do torneio indisponível: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    private void initializeComponents() {
+        setPreferredSize(new Dimension(700, 600));
+        setBackground(LIGHT_COLOR);
+        
+        // Fontes do tema, as mesmas para todas as estações
+        Font titleFont = Theme.TITLE_FONT;
+        Font normalFont = Theme.NORMAL_FONT;
+        Font boldFont = Theme.BOLD_FONT;
+        
+        instructionLabel = new JLabel("🎮 Bem-vindo ao Teste de Tempo de Reação!");
+        instructionLabel.setFont(titleFont);
+        instructionLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        instructionLabel.setForeground(DARK_COLOR);
+        
+        targetKeyView = new StimulusCanvas(Theme.TARGET_FONT, PRIMARY_COLOR, LIGHT_COLOR, clock);
+        targetKeyView.setText("🎯");
+        
+        timerDisplay = new TimerDisplay(Theme.TIMER_FONT, DARK_COLOR, WARNING_COLOR, LIGHT_COLOR);
+        
+        resultLabel = new JLabel("Pressione START para iniciar");
+        resultLabel.setFont(boldFont);
+        resultLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        resultLabel.setForeground(DARK_COLOR);
+        
+        rankingLabel = new JLabel("");
+        rankingLabel.setFont(normalFont);
+        rankingLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        rankingLabel.setForeground(DARK_COLOR);
+        
+        bestScoreLabel = new JLabel("Melhor tempo: --");
+        bestScoreLabel.setFont(normalFont);
+        bestScoreLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        bestScoreLabel.setForeground(PRIMARY_COLOR);
+        
+        statsLabel = new JLabel("");
+        statsLabel.setFont(normalFont);
+        statsLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        statsLabel.setForeground(DARK_COLOR);
+        
+        currentPlayerLabel = new JLabel("Jogador: --");
+        currentPlayerLabel.setFont(boldFont);
+        currentPlayerLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        currentPlayerLabel.setForeground(PRIMARY_COLOR);
+        
+        difficultyLabel = new JLabel("🎚️ Dificuldade:");
+        difficultyLabel.setFont(boldFont);
+        difficultyLabel.setForeground(DARK_COLOR);
+        
+        String[] difficulties = {"FÁCIL", "MÉDIO", "DIFÍCIL"};
+        difficultyComboBox = new JComboBox<>(difficulties);
+        difficultyComboBox.setSelectedIndex(1);
+        difficultyComboBox.setFont(normalFont);
+        difficultyComboBox.setBackground(Color.WHITE);
+        
+        String[] sessions = new String[SESSION_LENGTHS.length];
+        for (int i = 0; i < sessions.length; i++) {
+            sessions[i] = SESSION_LENGTHS[i] == 1 ? "1 rodada" : SESSION_LENGTHS[i] + " rodadas";
+        }
+        sessionComboBox = new JComboBox<>(sessions);
+        sessionComboBox.setFont(normalFont);
+        sessionComboBox.setBackground(Color.WHITE);
+        
+        startButton = new JButton("🚀 START");
+        startButton.setFont(boldFont);
+        startButton.setBackground(SUCCESS_COLOR);
+        startButton.setForeground(Color.WHITE);
+        startButton.setFocusPainted(false);
+        startButton.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
+        
+        resetRankingButton = new JButton("🔄 Limpar Ranking");
+        resetRankingButton.setFont(normalFont);
+        resetRankingButton.setBackground(WARNING_COLOR);
+        resetRankingButton.setForeground(Color.WHITE);
+        resetRankingButton.setFocusPainted(false);
+        
+        changePlayerButton = new JButton("👤 Trocar Jogador");
+        changePlayerButton.setFont(normalFont);
+        changePlayerButton.setBackground(Theme.ACCENT);
+        changePlayerButton.setForeground(Color.WHITE);
+        changePlayerButton.setFocusPainted(false);
+        
+        analyticsButton = new JButton("📊 Análises");
+        analyticsButton.setFont(normalFont);
+        analyticsButton.setBackground(PRIMARY_COLOR);
+        analyticsButton.setForeground(Color.WHITE);
+        analyticsButton.setFocusPainted(false);
+        
+        scoresButton = new JButton("📁 Scores");
+        scoresButton.setFont(normalFont);
+        scoresButton.setBackground(Theme.ACCENT);
+        scoresButton.setForeground(Color.WHITE);
+        scoresButton.setFocusPainted(false);
+        
+        calibrateButton = new JButton("🖥️ Calibrar");
+        calibrateButton.setFont(normalFont);
+        calibrateButton.setBackground(DARK_COLOR);
+        calibrateButton.setForeground(Color.WHITE);
+        calibrateButton.setFocusPainted(false);
+        
+        // Cronômetro e timeout vêm do FrameTicker; só o feedback tem timer próprio, de um disparo
+        feedbackTimer = new javax.swing.Timer(2000, e -> clearFeedback());
+        feedbackTimer.setRepeats(false);
+        
+        updateDifficultySettings();
+    }
+    
+    private void setupLayout() {
+        setLayout(new BorderLayout(15, 15));
+        setBorder(BorderFactory.createEmptyBorder(25, 25, 25, 25));
+        
+        // Painel superior
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.setBackground(LIGHT_COLOR);
+        topPanel.add(instructionLabel, BorderLayout.CENTER);
+        JPanel toolPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        toolPanel.setBackground(LIGHT_COLOR);
+        toolPanel.add(calibrateButton);
+        toolPanel.add(scoresButton);
+        toolPanel.add(analyticsButton);
+        topPanel.add(toolPanel, BorderLayout.EAST);
+        topPanel.setBorder(BorderFactory.createEmptyBorder(0, 0, 10, 0));
+        
+        // Painel central principal
+        JPanel centerPanel = new JPanel(new BorderLayout(10, 10));
+        centerPanel.setBackground(LIGHT_COLOR);
+        
+        // Painel da tecla alvo com borda; fundo e borda ficam em cache e só a tecla é repintada
+        JPanel targetPanel = new CachedBackgroundPanel(new BorderLayout());
+        targetPanel.setBackground(LIGHT_COLOR);
+        targetPanel.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(PRIMARY_COLOR, 3, true),
+            BorderFactory.createEmptyBorder(20, 20, 20, 20)
+        ));
+        targetPanel.add(targetKeyView, BorderLayout.CENTER);
+        
+        centerPanel.add(targetPanel, BorderLayout.CENTER);
+        
+        // Painel do timer
+        JPanel timerPanel = new JPanel(new BorderLayout());
+        timerPanel.setBackground(LIGHT_COLOR);
+        timerPanel.add(timerDisplay, BorderLayout.CENTER);
+        timerPanel.setBorder(BorderFactory.createEmptyBorder(10, 50, 10, 50));
+        
+        centerPanel.add(timerPanel, BorderLayout.SOUTH);
+        
+        // Painel inferior
+        JPanel bottomPanel = new JPanel(new GridLayout(6, 1, 8, 8));
+        bottomPanel.setBackground(LIGHT_COLOR);
+        
+        bottomPanel.add(resultLabel);
+        bottomPanel.add(currentPlayerLabel);
+        // Estatísticas de todas as rodadas ao lado do melhor tempo
+        JPanel bestPanel = new JPanel(new GridLayout(1, 2, 8, 0));
+        bestPanel.setBackground(LIGHT_COLOR);
+        bestPanel.add(bestScoreLabel);
+        bestPanel.add(statsLabel);
+        bottomPanel.add(bestPanel);
+        bottomPanel.add(rankingLabel);
+        
+        // Painel de controles
+        JPanel controlPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 5));
+        controlPanel.setBackground(LIGHT_COLOR);
+        controlPanel.add(difficultyLabel);
+        controlPanel.add(difficultyComboBox);
+        controlPanel.add(sessionComboBox);
+        controlPanel.add(startButton);
+        controlPanel.add(changePlayerButton);
+        controlPanel.add(resetRankingButton);
+        
+        bottomPanel.add(controlPanel);
+        
+        // Adicionar componentes principais
+        add(topPanel, BorderLayout.NORTH);
+        add(centerPanel, BorderLayout.CENTER);
+        add(bottomPanel, BorderLayout.SOUTH);
+    }
+    
+    private void setupEventListeners() {
+        startButton.addActionListener(e -> startGame());
+        
+        resetRankingButton.addActionListener(e -> {
+            int response = JOptionPane.showConfirmDialog(
+                this,
+                "Tem certeza que deseja limpar todo o ranking?",
+                "Confirmar Limpeza",
+                JOptionPane.YES_NO_OPTION,
+                JOptionPane.WARNING_MESSAGE
+            );
+            
+            if (response == JOptionPane.YES_OPTION) {
+                clearLocalScores();
+                scorePipeline.publish(null, ScorePipeline.CLEAR);
+                if (storeLoading) clearedWhileLoading = true;
+                showFeedback("Ranking limpo com sucesso! ✅", SUCCESS_COLOR);
+            }
+        });
+        
+        changePlayerButton.addActionListener(e -> {
+            askPlayerName();
+        });
+        
+        // Análises sobre as rodadas gravadas por esta estação e pelas anteriores
+        analyticsButton.addActionListener(e -> new AnalyticsView(SwingUtilities.getWindowAncestor(this),
+            resources.recordingDirectory != null ? resources.recordingDirectory : RoundRecorder.defaultDirectory()).setVisible(true));
+        
+        // Exportar o ranking para juntar com o de outras estações (ScoreMerge) e importar o resultado
+        JPopupMenu scoresMenu = new JPopupMenu();
+        JMenuItem exportItem = new JMenuItem("📤 Exportar ranking...");
+        JMenuItem importItem = new JMenuItem("📥 Importar scores...");
+        exportItem.addActionListener(e -> exportScores());
+        importItem.addActionListener(e -> importScores());
+        scoresMenu.add(exportItem);
+        scoresMenu.add(importItem);
+        scoresButton.addActionListener(e -> scoresMenu.show(scoresButton, 0, scoresButton.getHeight()));
+        
+        calibrateButton.addActionListener(e -> calibrateDisplay());
+        
+        difficultyComboBox.addActionListener(e -> {
+            String selected = (String) difficultyComboBox.getSelectedItem();
+            currentDifficulty = Difficulty.valueOf(selected);
+            updateDifficultySettings();
+            updateBestScoreDisplay();
+        });
+        
+        // Teclas capturadas na janela inteira, com ou sem foco no painel; com várias estações
+        // na janela, só as que chegam com o foco dentro desta
+        keyCapture = new KeyCapture(this, resources.sharedWindow, clock, (keyIndex, captureNanos, dispatchDelayMicros) -> {
+            Latency.EDT_QUEUE_DELAY.record(dispatchDelayMicros * 1000L);
+            // Na espera também: teclas antes do estímulo vão para a gravação da rodada
+            if (engine.getState() != GameEngine.State.IDLE) {
+                checkKeyPress(keyIndex, captureNanos, dispatchDelayMicros);
+            }
+        });
+        
+        // Com várias estações na janela, um clique leva o foco (e as teclas) para esta
+        if (resources.sharedWindow) {
+            addMouseListener(new MouseAdapter() {
+                @Override
+                public void mousePressed(MouseEvent e) {
+                    requestFocusInWindow();
+                }
+            });
+        }
+        
+        // F12 mostra os histogramas de latência coletados até agora
+        getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(KeyEvent.VK_F12, 0), "latencyReport");
+        getActionMap().put("latencyReport", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                showLatencyReport();
+            }
+        });
+    }
+    
+    private void askPlayerName() {
+        String newPlayerName = JOptionPane.showInputDialog(
+            this, 
+            "👤 Digite o nome do jogador:\n(Máx. 20 caracteres)",
+            "Trocar Jogador",
+            JOptionPane.QUESTION_MESSAGE
+        );
+        
+        if (newPlayerName != null && !newPlayerName.trim().isEmpty()) {
+            setPlayerName(newPlayerName);
+        }
+    }
+    
+    void setPlayerName(String newPlayerName) {
+        currentPlayerName = newPlayerName.trim();
+        // Limitar tamanho do nome
+        if (currentPlayerName.length() > 20) {
+            currentPlayerName = currentPlayerName.substring(0, 20);
+        }
+        
+        currentPlayerLabel.setText("👤 Jogador: " + currentPlayerName);
+        instructionLabel.setText("🎮 " + currentPlayerName + ", bem-vindo ao desafio!");
+        updateBestScoreDisplay();
+        showFeedback("Jogador alterado para: " + currentPlayerName, PRIMARY_COLOR);
+    }
+    
+    private void updateDifficultySettings() {
+        difficultyLabel.setForeground(currentDifficulty.color);
+    }
+    
+    private void updateBestScoreDisplay() {
+        if (currentPlayerName == null) return;
+        
+        long bestTime = getBestTimeForPlayer();
+        if (bestTime != Long.MAX_VALUE) {
+            bestScoreLabel.setText("🏆 Melhor de " + currentPlayerName + ": " + PlayerScore.formatMicros(bestTime) + " (" + currentDifficulty.displayName + ")");
+            bestScoreLabel.setForeground(SUCCESS_COLOR);
+        } else {
+            bestScoreLabel.setText("🎯 " + currentPlayerName + " - Tente conseguir um bom tempo!");
+            bestScoreLabel.setForeground(currentDifficulty.color);
+        }
+        
+        PlayerStats stats = leaderboard != null
+            ? leaderboard.getStats(currentPlayerName, currentDifficulty)
+            : ranking.getStats(currentPlayerName, currentDifficulty);
+        if (stats == null) {
+            statsLabel.setText("");
+        } else {
+            long[] quantiles = stats.getPercentilesMicros(50, 95, 99);
+            statsLabel.setText(String.format(java.util.Locale.ROOT,
+                "<html>📈 %d rodadas · média %s ± %.1f ms<br>p50 %s · p95 %s · p99 %s</html>",
+                stats.getCount(), PlayerScore.formatMicros((long) stats.getMeanMicros()), stats.getStdDevMicros() / 1000.0,
+                PlayerScore.formatMicros(quantiles[0]), PlayerScore.formatMicros(quantiles[1]), PlayerScore.formatMicros(quantiles[2])));
+        }
+    }
+    
+    private long getBestTimeForPlayer() {
+        if (currentPlayerName == null) return Long.MAX_VALUE;
+        PlayerScore best = recordedBest(currentPlayerName, currentDifficulty);
+        return best == null ? Long.MAX_VALUE : best.reactionTimeMicros;
+    }
+    
+    // Melhor já registrado, o mesmo para o RECORDE e para a tela. Com ranking compartilhado, o
+    // melhor pode ter sido feito em outra estação ou antes de reiniciar (os scores salvos só vão
+    // para ele); o ranking local cobre os scores desta estação que ainda não chegaram lá
+    private PlayerScore recordedBest(String playerName, Difficulty difficulty) {
+        // Os da sessão em andamento (no máximo 50) e os do último quadro ainda não estão no ranking
+        PlayerScore local = pendingBest(unranked, playerName, difficulty,
+            pendingBest(sessionScores, playerName, difficulty, ranking.getBest(playerName, difficulty)));
+        if (leaderboard == null) return local;
+        PlayerScore shared = leaderboard.getBest(playerName, difficulty);
+        if (shared == null) return local;
+        return local != null && local.reactionTimeMicros < shared.reactionTimeMicros ? local : shared;
+    }
+    
+    // Ranking local e scores ainda não registrados nele; os da sessão em andamento também, que
+    // senão chegariam ao ranking compartilhado depois da limpeza
+    private void clearLocalScores() {
+        ranking.clear();
+        unranked.clear();
+        sessionScores.clear();
+        scoreDisplays.request();
+    }
+    
+    private static PlayerScore pendingBest(java.util.List<PlayerScore> pending, String playerName, Difficulty difficulty,
+            PlayerScore best) {
+        for (PlayerScore score : pending) {
+            if (score.difficulty == difficulty && score.playerName.equalsIgnoreCase(playerName)
+                && (best == null || score.reactionTimeMicros < best.reactionTimeMicros)) best = score;
+        }
+        return best;
+    }
+    
+    // O mesmo que clicar em START
+    void startGame() {
+        // Durante a sessão o START vira PARAR
+        if (sessionLength > 0) {
+            resetGame();
+            return;
+        }
+        if (currentPlayerName == null) {
+            askPlayerName();
+            if (currentPlayerName == null) return;
+        }
+        // Assinante atrasado (disco lento) com a fila de scores cheia: sem rodadas novas até ela baixar
+        if (scorePipeline.saturated()) {
+            showFeedback("⏳ Gravando scores pendentes, tente de novo em instantes", WARNING_COLOR);
+            return;
+        }
+        
+        resetGame();
+        
+        int rounds = SESSION_LENGTHS[Math.max(0, sessionComboBox.getSelectedIndex())];
+        instructionLabel.setText("🎯 " + currentPlayerName + ", prepare-se...");
+        resultLabel.setText("Aguardando tecla alvo...");
+        targetKeyView.setText("⏳");
+        targetKeyView.setForeground(WARNING_COLOR);
+        // Controles desabilitados uma vez só, pela sessão inteira
+        difficultyComboBox.setEnabled(false);
+        sessionComboBox.setEnabled(false);
+        resetRankingButton.setEnabled(false);
+        changePlayerButton.setEnabled(false);
+        if (rounds > 1) {
+            sessionLength = rounds;
+            sessionRound = 1;
+            sessionHits = 0;
+            sessionSumMicros = 0L;
+            sessionBestMicros = Long.MAX_VALUE;
+            startButton.setText("⏹ PARAR");
+            instructionLabel.setText("🎯 " + currentPlayerName + ", rodada 1/" + rounds + " - prepare-se...");
+        } else {
+            startButton.setEnabled(false);
+        }
+        
+        scheduleRound();
+        // Os botões desabilitados perdem o foco; ele fica na estação para receber as teclas. Na
+        // sessão também, para o espaço não acionar o PARAR
+        if (resources.sharedWindow || sessionLength > 0) requestFocusInWindow();
+    }
+    
+    // Esperar 1.5-3.5 segundos aleatórios antes de mostrar a tecla
+    private void scheduleRound() {
+        if (pendingRecorder != null) {
+            engine.setRoundListener(pendingRecorder);
+            pendingRecorder = null;
+        }
+        engine.setDisplayOffsetMicros(displayOffsetMicros());
+        engine.prepareRound(currentPlayerName, currentDifficulty);
+        StationMetrics.INSTANCE.roundStarted(currentDifficulty);
+        pendingStimulus = resources.scheduler.schedule(engine.getPlannedOnsetNanos(), (plannedNanos, firedNanos) -> showStimulus());
+    }
+    
+    // Latência de tela descontada na tela onde o painel está; 0 sem tela
+    private long displayOffsetMicros() {
+        if (GraphicsEnvironment.isHeadless()) return 0L;
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        if (configuration == null) return 0L;
+        return DisplayCalibration.offsetMicros(DisplayCalibration.forDevice(configuration));
+    }
+    
+    // Mede a latência de tela no próprio canvas da tecla alvo: alguns segundos de quadros
+    // piscando, apresentados no EDT a pedido do worker, que também grava o resultado; ele vale
+    // para todas as estações desta tela
+    private void calibrateDisplay() {
+        if (engine.getState() != GameEngine.State.IDLE || !targetKeyView.isShowing()) return;
+        startButton.setEnabled(false);
+        difficultyComboBox.setEnabled(false);
+        sessionComboBox.setEnabled(false);
+        resetRankingButton.setEnabled(false);
+        changePlayerButton.setEnabled(false);
+        calibrateButton.setEnabled(false);
+        instructionLabel.setText("🖥️ Calibrando a tela... não mova a janela");
+        targetKeyView.beginCalibration();
+        new SwingWorker<DisplayCalibration, Void>() {
+            @Override
+            protected DisplayCalibration doInBackground() throws Exception {
+                DisplayCalibration calibration = DisplayCalibration.measure(targetKeyView, clock, DARK_COLOR, LIGHT_COLOR);
+                calibration.save();
+                return calibration;
+            }
+            
+            @Override
+            protected void done() {
+                targetKeyView.endCalibration();
+                calibrateButton.setEnabled(true);
+                enableControls();
+                instructionLabel.setText("🎮 " + (currentPlayerName != null ? currentPlayerName + ", pronto?" : "Pronto?"));
+                try {
+                    DisplayCalibration calibration = get();
+                    calibration.install();
+                    showFeedback("🖥️ Tela calibrada: " + calibration.summary(), SUCCESS_COLOR);
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    showFeedback("Falha na calibração da tela: " + cause.getMessage(), DANGER_COLOR);
+                }
+            }
+        }.execute();
+    }
+    
+    // Fim de uma rodada (acerto ou tempo esgotado): na sessão, a próxima é agendada já, enquanto
+    // o feedback desta ainda está na tela
+    private void roundFinished() {
+        if (sessionLength == 0) {
+            enableControls();
+        } else if (sessionRound < sessionLength) {
+            sessionRound++;
+            instructionLabel.setText("🎯 " + currentPlayerName + ", rodada " + sessionRound + "/" + sessionLength + " - prepare-se...");
+            scheduleRound();
+        } else {
+            endSession();
+            enableControls();
+        }
+    }
+    
+    // Entrega os scores da sessão ao ranking e ao ranking compartilhado e atualiza as telas uma vez
+    private void endSession() {
+        int rounds = sessionRound;
+        sessionLength = 0;
+        startButton.setText("🚀 START");
+        long rankingStart = System.nanoTime();
+        for (PlayerScore score : sessionScores) ranking.submit(score);
+        Latency.ADD_TO_RANKING.recordSince(rankingStart);
+        for (PlayerScore score : sessionScores) scorePipeline.publish(score, ScorePipeline.SHARE);
+        sessionScores.clear();
+        scoreDisplays.request();
+        if (sessionHits == 0) {
+            showFeedback("🏁 Sessão: 0/" + rounds + " acertos", WARNING_COLOR);
+        } else {
+            showFeedback("🏁 Sessão: " + sessionHits + "/" + rounds + " acertos · média "
+                + PlayerScore.formatMicros(sessionSumMicros / sessionHits) + " · melhor "
+                + PlayerScore.formatMicros(sessionBestMicros), SUCCESS_COLOR);
+        }
+    }
+    
+    // Chamado no EDT pelo agendador no instante planejado do estímulo
+    private void showStimulus() {
+        pendingStimulus = null;
+        String targetKey = engine.drawTargetKey();
+        if (targetKey == null) return;
+        // Na sessão o feedback da rodada anterior pode ainda estar no ar
+        if (feedbackTimer.isRunning()) feedbackTimer.stop();
+        targetKeyView.setText(targetKey);
+        targetKeyView.setForeground(PRIMARY_COLOR);
+        
+        instructionLabel.setText("⚡ " + currentPlayerName + ", PRESSIONE: " + targetKey);
+        resultLabel.setText("AGORA!");
+        
+        // Apresentar a tecla alvo agora; o estímulo começa quando show() e sync() voltam, e a
+        // latência da tela depois disso é descontada pelo motor (DisplayCalibration)
+        long presentStart = clock.nanoTime();
+        long presented = targetKeyView.present();
+        Latency.STIMULUS_PRESENT.record(presented - presentStart);
+        engine.startStimulus(presented);
+        Latency.STIMULUS_ONSET_ERROR.record(Math.abs(engine.getOnsetErrorNanos()));
+        resources.ticker.activate(this);
+    }
+    
+    private void resetGame() {
+        resources.ticker.deactivate(this);
+        if (feedbackTimer.isRunning()) feedbackTimer.stop();
+        
+        resources.scheduler.cancel(pendingStimulus);
+        pendingStimulus = null;
+        if (engine.getState() != GameEngine.State.IDLE) StationMetrics.INSTANCE.roundCancelled(engine.getDifficulty());
+        engine.cancel();
+        // Sessão interrompida (PARAR, nova partida, painel removido): a rodada em curso não conta
+        if (sessionLength > 0) {
+            sessionRound--;
+            endSession();
+        }
+        
+        timerDisplay.setElapsedMillis(0L);
+        timerDisplay.setWarning(false);
+        
+        enableControls();
+    }
+    
+    // Tick do FrameTicker, só enquanto a rodada está ativa
+    @Override
+    public void tick(long nowNanos) {
+        if (engine.isTimedOut(nowNanos)) {
+            timeoutGame();
+        } else {
+            updateTimer(nowNanos);
+        }
+    }
+    
+    void updateTimer() {
+        updateTimer(clock.nanoTime());
+    }
+    
+    private void updateTimer(long now) {
+        if (engine.isActive()) {
+            long elapsedTime = engine.elapsedMillis(now);
+            timerDisplay.setElapsedMillis(elapsedTime);
+            
+            // Feedback visual de tempo
+            timerDisplay.setWarning(engine.isOverMaxTime(elapsedTime));
+        }
+    }
+    
+    private void timeoutGame() {
+        if (engine.timeout()) {
+            StationMetrics.INSTANCE.roundTimedOut(engine.getDifficulty());
+            resources.ticker.deactivate(this);
+            
+            showFeedback("⏰ TEMPO ESGOTADO! Muito lento!", DANGER_COLOR);
+            instructionLabel.setText("😅 " + currentPlayerName + ", tente novamente!");
+            targetKeyView.setText("💥");
+            targetKeyView.setForeground(DANGER_COLOR);
+            
+            roundFinished();
+        }
+    }
+    
+    void checkKeyPress(int keyIndex, long captureNanos, long dispatchDelayMicros) {
+        long start = System.nanoTime();
+        handleKeyPress(keyIndex, captureNanos, dispatchDelayMicros);
+        Latency.CHECK_KEY_PRESS.recordSince(start);
+    }
+    
+    private void handleKeyPress(int keyIndex, long captureNanos, long dispatchDelayMicros) {
+        RoundResult result = engine.keyPressed(keyIndex, captureNanos, dispatchDelayMicros);
+        if (result == null) return;
+        StationMetrics.INSTANCE.roundCompleted(result.score.difficulty);
+        
+        resources.ticker.deactivate(this);
+        
+        PlayerScore score = result.score;
+        String reactionText = PlayerScore.formatMicros(score.reactionTimeMicros)
+            + " (EDT " + PlayerScore.formatMicros(score.dispatchDelayMicros)
+            + ", estímulo " + (result.onsetErrorMicros < 0 ? "-" : "+") + PlayerScore.formatMicros(Math.abs(result.onsetErrorMicros))
+            + (score.rawReactionTimeMicros != score.reactionTimeMicros
+                ? ", tela -" + PlayerScore.formatMicros(score.rawReactionTimeMicros - score.reactionTimeMicros) : "") + ")";
+        
+        if (sessionLength > 0) {
+            // Na sessão só o armazenamento e as estatísticas são imediatos; o ranking e o resto
+            // ficam para o fim
+            scorePipeline.publish(score, ScorePipeline.ROUND | ScorePipeline.PERSIST);
+            sessionScores.add(score);
+            if (result.withinTimeout) {
+                sessionHits++;
+                sessionSumMicros += score.reactionTimeMicros;
+                sessionBestMicros = Math.min(sessionBestMicros, score.reactionTimeMicros);
+            }
+        } else {
+            addToRanking(score);
+        }
+        
+        switch (result.rating) {
+            case RECORD:
+                showFeedback("🎉 " + currentPlayerName + " - NOVO RECORDE! " + reactionText, SUCCESS_COLOR);
+                break;
+            case INCREDIBLE:
+                showFeedback("🤯 " + currentPlayerName + " - INCRÍVEL! " + reactionText, SUCCESS_COLOR);
+                break;
+            case GREAT:
+                showFeedback("🚀 " + currentPlayerName + " - ÓTIMO! " + reactionText, SUCCESS_COLOR);
+                break;
+            case GOOD:
+                showFeedback("✅ " + currentPlayerName + " - " + reactionText + " - Bom trabalho!", SUCCESS_COLOR);
+                break;
+            case LATE:
+                showFeedback("🐌 " + currentPlayerName + " - " + reactionText + " - Fora do tempo limite!", WARNING_COLOR);
+                break;
+        }
+        
+        if (result.withinTimeout) {
+            targetKeyView.setText("🎯");
+            targetKeyView.setForeground(SUCCESS_COLOR);
+        } else {
+            targetKeyView.setText("😴");
+            targetKeyView.setForeground(WARNING_COLOR);
+        }
+        
+        instructionLabel.setText("🎮 " + currentPlayerName + ", pronto para outra?");
+        roundFinished();
+        if (roundResultListener != null) roundResultListener.accept(result);
+    }
+    
+    private JFileChooser scoreFileChooser() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("Scores (CSV ou JSON)", "csv", "json", "jsonl"));
+        return chooser;
+    }
+    
+    // Grava o melhor de cada jogador e dificuldade; a lista é copiada no EDT e escrita em segundo plano
+    private void exportScores() {
+        JFileChooser chooser = scoreFileChooser();
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        java.nio.file.Path chosen = chooser.getSelectedFile().toPath();
+        String name = chosen.getFileName().toString().toLowerCase(java.util.Locale.ROOT);
+        java.nio.file.Path path = name.endsWith(".csv") || name.endsWith(".json") || name.endsWith(".jsonl")
+            ? chosen : chosen.resolveSibling(chosen.getFileName() + ".csv");
+        flushUnranked();
+        java.util.List<PlayerScore> scores = leaderboard != null
+            ? leaderboard.topK(Integer.MAX_VALUE) : ranking.topK(Integer.MAX_VALUE);
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                try (ScoreFormat.ScoreWriter writer = ScoreFormat.forPath(path).openWriter(path)) {
+                    for (PlayerScore score : scores) writer.write(score);
+                }
+                return scores.size();
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    showFeedback("📤 " + get() + " scores exportados para " + path.getFileName(), SUCCESS_COLOR);
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    showFeedback("Falha ao exportar: " + cause.getMessage(), DANGER_COLOR);
+                }
+            }
+        }.execute();
+    }
+    
+    // Lê o arquivo fora do EDT e entrega os scores em lotes; o ranking só é alterado no EDT. O
+    // pipeline recebe os scores da própria thread da leitura, que espera quando a fila enche:
+    // com o disco lento, o armazenamento segura o despacho, e o despacho, a leitura
+    private void importScores() {
+        JFileChooser chooser = scoreFileChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        java.nio.file.Path path = chooser.getSelectedFile().toPath();
+        scoresButton.setEnabled(false);
+        new SwingWorker<Long, PlayerScore>() {
+            @Override
+            protected Long doInBackground() throws Exception {
+                long count = 0;
+                try (ScoreFormat.ScoreReader reader = ScoreFormat.forPath(path).openReader(path)) {
+                    PlayerScore score;
+                    while ((score = reader.next()) != null) {
+                        scorePipeline.publishBlocking(score, ScorePipeline.PERSIST | ScorePipeline.SHARE);
+                        publish(score);
+                        count++;
+                    }
+                }
+                return count;
+            }
+            
+            @Override
+            protected void process(java.util.List<PlayerScore> scores) {
+                for (PlayerScore score : scores) ranking.submit(score);
+            }
+            
+            @Override
+            protected void done() {
+                scoresButton.setEnabled(true);
+                refreshScoreDisplays();
+                try {
+                    showFeedback("📥 " + get() + " scores importados de " + path.getFileName(), SUCCESS_COLOR);
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    showFeedback("Falha ao importar: " + cause.getMessage(), DANGER_COLOR);
+                }
+            }
+        }.execute();
+    }
+    
+    private void showFeedback(String message, Color color) {
+        resultLabel.setText(message);
+        resultLabel.setForeground(color);
+        feedbackTimer.start();
+    }
+    
+    private void clearFeedback() {
+        resultLabel.setText(sessionLength > 0 ? "Aguardando tecla alvo..." : "Pressione START para jogar");
+        resultLabel.setForeground(DARK_COLOR);
+    }
+    
+    private void enableControls() {
+        startButton.setEnabled(true);
+        difficultyComboBox.setEnabled(true);
+        sessionComboBox.setEnabled(true);
+        resetRankingButton.setEnabled(true);
+        changePlayerButton.setEnabled(true);
+    }
+    
+    // O RECORDE já foi decidido pelo motor; o resto sai pelo pipeline, e o ranking e as telas
+    // mudam no próximo quadro
+    void addToRanking(PlayerScore score) {
+        unranked.add(score);
+        scorePipeline.publish(score, ScorePipeline.ROUND | ScorePipeline.PERSIST | ScorePipeline.SHARE);
+        scoreDisplays.request();
+    }
+    
+    private void flushUnranked() {
+        if (unranked.isEmpty()) return;
+        long start = System.nanoTime();
+        for (PlayerScore score : unranked) ranking.submit(score);
+        Latency.ADD_TO_RANKING.recordSince(start);
+        unranked.clear();
+    }
+    
+    private void refreshScoreDisplays() {
+        flushUnranked();
+        updateRankingDisplay();
+        updateBestScoreDisplay();
+    }
+    
+    void updateRankingDisplay() {
+        long start = System.nanoTime();
+        renderRankingDisplay();
+        Latency.UPDATE_RANKING_DISPLAY.recordSince(start);
+    }
+    
+    private void renderRankingDisplay() {
+        // Conectado ao torneio, mostra o ranking compartilhado entre as estações
+        java.util.List<PlayerScore> top = sharedRanking != null ? sharedRanking
+            : leaderboard != null ? leaderboard.topK(MAX_RANKING_ENTRIES) : ranking.topK(MAX_RANKING_ENTRIES);
+        if (top.isEmpty()) {
+            rankingLabel.setText("📊 Ranking: (vazio) - Seja o primeiro!");
+            return;
+        }
+        
+        String title = sharedRanking != null ? "🌐 TOP " + MAX_RANKING_ENTRIES + " DO TORNEIO" : "🏆 TOP " + MAX_RANKING_ENTRIES;
+        StringBuilder rankingText = new StringBuilder("<html><b>" + title + ":</b><br>");
+        for (int i = 0; i < Math.min(top.size(), 5); i++) {
+            PlayerScore score = top.get(i);
+            String medal = i == 0 ? "🥇" : i == 1 ? "🥈" : i == 2 ? "🥉" : "🔸";
+            rankingText.append(String.format("%s %dº - %s<br>", medal, i + 1, score.toString()));
+        }
+        rankingText.append("</html>");
+        rankingLabel.setText(rankingText.toString());
+    }
+    
+    private void showLatencyReport() {
+        JTextArea report = new JTextArea(Latency.report());
+        report.setFont(Theme.REPORT_FONT);
+        report.setEditable(false);
+        JOptionPane.showMessageDialog(this, new JScrollPane(report), "Latências", JOptionPane.INFORMATION_MESSAGE);
+    }
+    
+    @Override
+    public void paint(Graphics g) {
+        long start = System.nanoTime();
+        super.paint(g);
+        Latency.PAINT.recordSince(start);
+        if (!firstFramePainted) {
+            firstFramePainted = true;
+            StartupTrace.mark("primeiro quadro");
+        }
+    }
+    
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        keyCapture.install();
+        if (leaderboard != null) {
+            leaderboard.addClearListener(leaderboardClearListener);
+            leaderboard.addChangeListener(leaderboardListener);
+        }
+    }
+    
+    @Override
+    public void removeNotify() {
+        resetGame();
+        keyCapture.uninstall();
+        if (leaderboard != null) {
+            leaderboard.removeChangeListener(leaderboardListener);
+            leaderboard.removeClearListener(leaderboardClearListener);
+        }
+        super.removeNotify();
+    }
+    
+    // Gradiente de fundo suave, renderizado uma vez por tamanho de painel
+    @Override
+    protected void paintStatic(Graphics2D g, int width, int height) {
+        g.setPaint(new GradientPaint(0, 0, Theme.GRADIENT_START, width, height, Theme.GRADIENT_END));
+        g.fillRect(0, 0, width, height);
+    }
+}
@@ -0,0 +1,126 @@
+package jogo;
+
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.swing.SwingUtilities;
+
+// Captura global de teclas pelo KeyboardFocusManager: recebe as teclas da janela do jogo
+// mesmo sem foco no GamePanel (por exemplo depois de um diálogo), carimba o instante da
+// captura e traduz o código da tecla pela tabela de AVAILABLE_KEYS, sem getKeyText.
+// O instante da captura é o da chegada da tecla à fila de eventos (PostTimestamps), no
+// relógio monotônico; o tempo na fila até a entrega pelo EDT é informado à parte e não
+// corrige o tempo de reação. getWhen() não é usado: é relógio de parede, em milissegundos
+class KeyCapture implements KeyEventDispatcher {
+    // Recebe as teclas capturadas; keyIndex é o índice em GameEngine.AVAILABLE_KEYS ou -1
+    interface Listener {
+        void keyCaptured(int keyIndex, long captureNanos, long dispatchDelayMicros);
+    }
+    
+    // Código de tecla -> índice em AVAILABLE_KEYS; todos os códigos usados ficam abaixo de 256
+    private static final byte[] KEY_TABLE = new byte[256];
+    
+    static {
+        Arrays.fill(KEY_TABLE, (byte) -1);
+        for (int i = 0; i < GameEngine.AVAILABLE_KEYS.length; i++) {
+            char key = GameEngine.AVAILABLE_KEYS[i].charAt(0);
+            KEY_TABLE[KeyEvent.getExtendedKeyCodeForChar(key)] = (byte) i;
+            // Dígitos também valem pelo teclado numérico
+            if (key >= '0' && key <= '9') {
+                KEY_TABLE[KeyEvent.VK_NUMPAD0 + (key - '0')] = (byte) i;
+            }
+        }
+    }
+    
+    private final Component owner;
+    // Com várias estações na mesma janela, só as teclas com o foco dentro do owner
+    private final boolean focusScoped;
+    private final Clock clock;
+    private final Listener listener;
+    
+    KeyCapture(Component owner, Clock clock, Listener listener) {
+        this(owner, false, clock, listener);
+    }
+    
+    KeyCapture(Component owner, boolean focusScoped, Clock clock, Listener listener) {
+        this.owner = owner;
+        this.focusScoped = focusScoped;
+        this.clock = clock;
+        this.listener = listener;
+    }
+    
+    static int keyIndex(int keyCode) {
+        return keyCode >= 0 && keyCode < KEY_TABLE.length ? KEY_TABLE[keyCode] : -1;
+    }
+    
+    // Fila de eventos que anota o nanoTime de cada KEY_PRESSED ao ser postado, antes de
+    // esperar pelo EDT; a anotação é retirada na entrega
+    private static final class PostTimestamps extends EventQueue {
+        private final ConcurrentHashMap<AWTEvent, Long> posted = new ConcurrentHashMap<>();
+
+        @Override
+        public void postEvent(AWTEvent event) {
+            if (event.getID() == KeyEvent.KEY_PRESSED) posted.put(event, System.nanoTime());
+            super.postEvent(event);
+        }
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                if (event.getID() == KeyEvent.KEY_PRESSED) posted.remove(event);
+            }
+        }
+    }
+
+    private static PostTimestamps postTimestamps;
+
+    private static synchronized void installPostTimestamps() {
+        if (postTimestamps == null) {
+            postTimestamps = new PostTimestamps();
+            Toolkit.getDefaultToolkit().getSystemEventQueue().push(postTimestamps);
+        }
+    }
+
+    // Instante em que a tecla entrou na fila, ou -1 se ela não passou pela fila anotada
+    private static long postedNanos(KeyEvent e) {
+        PostTimestamps queue = postTimestamps;
+        Long nanos = queue != null ? queue.posted.get(e) : null;
+        return nanos != null ? nanos : -1L;
+    }
+    
+    private static Window windowOf(Component component) {
+        return component instanceof Window ? (Window) component : SwingUtilities.getWindowAncestor(component);
+    }
+    
+    void install() {
+        // Os instantes da fila são de System.nanoTime; com outro relógio a captura é na entrega
+        if (clock == Clock.SYSTEM) installPostTimestamps();
+        KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher(this);
+    }
+    
+    void uninstall() {
+        KeyboardFocusManager.getCurrentKeyboardFocusManager().removeKeyEventDispatcher(this);
+    }
+    
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent e) {
+        if (e.getID() != KeyEvent.KEY_PRESSED) return false;
+        // Capturar o relógio antes de qualquer outro trabalho
+        long captureNanos = clock.nanoTime();
+        // Só teclas digitadas na janela do jogo (diálogos como o de nome ficam de fora)
+        if (windowOf(e.getComponent()) != windowOf(owner)) return false;
+        if (focusScoped && !SwingUtilities.isDescendingFrom(e.getComponent(), owner)) return false;
+        // Tempo na fila do EDT, do mesmo relógio; a captura passa a ser a chegada à fila
+        long postedNanos = clock == Clock.SYSTEM ? postedNanos(e) : -1L;
+        long dispatchDelayMicros = 0L;
+        if (postedNanos >= 0L && postedNanos <= captureNanos) {
+            dispatchDelayMicros = (captureNanos - postedNanos) / 1000L;
+            captureNanos = postedNanos;
+        }
+        listener.keyCaptured(keyIndex(e.getKeyCode()), captureNanos, dispatchDelayMicros);
+        return false;
+    }
+}
@@ -0,0 +1,82 @@
+package jogo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+// Pontos medidos no caminho entre a tecla e o feedback, cada um com seu histograma
+enum Latency {
+    EDT_QUEUE_DELAY("Atraso da fila do EDT (tecla)"),
+    CHECK_KEY_PRESS("checkKeyPress"),
+    ADD_TO_RANKING("addToRanking"),
+    UPDATE_RANKING_DISPLAY("updateRankingDisplay"),
+    PAINT("paint do GamePanel"),
+    TIMER_TICK_DRIFT("Desvio do tick do FrameTicker"),
+    STIMULUS_ONSET_ERROR("Erro do início do estímulo"),
+    STIMULUS_PRESENT("Apresentação do estímulo (show + sync)"),
+    // Tarefa postada pela thread das métricas (StationMetrics), com ou sem rodada em andamento
+    EDT_PROBE("Atraso da fila do EDT (sonda)");
+    
+    final String displayName;
+    final LatencyHistogram histogram = new LatencyHistogram();
+    
+    Latency(String displayName) {
+        this.displayName = displayName;
+    }
+    
+    void record(long nanos) {
+        histogram.record(nanos);
+    }
+    
+    // Registra o tempo decorrido desde startNanos
+    void recordSince(long startNanos) {
+        histogram.record(System.nanoTime() - startNanos);
+    }
+    
+    static String report() {
+        StringBuilder out = new StringBuilder();
+        for (Latency latency : values()) {
+            out.append(String.format("%-32s %s%n", latency.displayName, latency.histogram.summaryLine()));
+        }
+        return out.toString();
+    }
+    
+    static void resetAll() {
+        for (Latency latency : values()) {
+            latency.histogram.reset();
+        }
+    }
+    
+    // Grava o resumo e os baldes de todos os histogramas num arquivo do diretório dado
+    static Path dump(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        Path file = directory.resolve("latency-" + stamp + ".txt");
+        StringBuilder out = new StringBuilder(report());
+        for (Latency latency : values()) {
+            out.append("\n# ").append(name(latency)).append(" (ns: início, fim, contagem)\n");
+            latency.histogram.appendBuckets(out);
+        }
+        Files.write(file, out.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+    
+    private static String name(Latency latency) {
+        return latency.name() + " - " + latency.displayName;
+    }
+    
+    // Grava os histogramas ao encerrar a JVM
+    static void dumpOnExit(Path directory) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                if (EDT_QUEUE_DELAY.histogram.getCount() + PAINT.histogram.getCount() > 0) {
+                    dump(directory);
+                }
+            } catch (IOException e) {
+                System.err.println("Falha ao gravar histogramas de latência: " + e.getMessage());
+            }
+        }, "latency-dump"));
+    }
+}
@@ -0,0 +1,102 @@
+package jogo;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Histograma de latências em nanossegundos com baldes logarítmicos no estilo HdrHistogram:
+// 16 sub-baldes lineares por potência de dois (erro relativo abaixo de ~6%). O array é
+// alocado uma vez; registrar uma amostra não aloca e pode ser feito de qualquer thread
+class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF = SUB_BUCKETS / 2;
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * HALF;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray summary = new AtomicLongArray(3);
+    private static final int COUNT = 0;
+    private static final int SUM = 1;
+    private static final int MAX = 2;
+    
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) return (int) Math.max(0L, value);
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int shift = msb - (SUB_BUCKET_BITS - 1);
+        int top = (int) (value >>> shift);
+        return SUB_BUCKETS + (shift - 1) * HALF + (top - HALF);
+    }
+    
+    // Menor valor que cai no balde
+    static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int k = index - SUB_BUCKETS;
+        int shift = k / HALF + 1;
+        return (long) (k % HALF + HALF) << shift;
+    }
+    
+    static long bucketUpperBound(int index) {
+        return index + 1 < BUCKETS ? bucketLowerBound(index + 1) - 1 : Long.MAX_VALUE;
+    }
+    
+    void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts.incrementAndGet(bucketIndex(nanos));
+        summary.incrementAndGet(COUNT);
+        summary.addAndGet(SUM, nanos);
+        long max;
+        while (nanos > (max = summary.get(MAX)) && !summary.compareAndSet(MAX, max, nanos)) {
+            // outra thread atualizou o máximo; tentar de novo
+        }
+    }
+    
+    long getCount() {
+        return summary.get(COUNT);
+    }
+    
+    long getMax() {
+        return summary.get(MAX);
+    }
+    
+    double getMean() {
+        long count = getCount();
+        return count == 0 ? 0.0 : (double) summary.get(SUM) / count;
+    }
+    
+    // Valor (ponto médio do balde) abaixo do qual está a fração percentile das amostras
+    long getPercentile(double percentile) {
+        long count = getCount();
+        if (count == 0) return 0;
+        long target = Math.max(1L, (long) Math.ceil(count * percentile));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                long low = bucketLowerBound(i);
+                return Math.min(getMax(), low + (bucketUpperBound(i) - low) / 2);
+            }
+        }
+        return getMax();
+    }
+    
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        for (int i = 0; i < 3; i++) summary.set(i, 0);
+    }
+    
+    // Linha de resumo em microssegundos
+    String summaryLine() {
+        return String.format(Locale.ROOT, "n=%d média=%.1f p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f máx=%.1f (µs)",
+            getCount(), getMean() / 1000.0, getPercentile(0.50) / 1000.0, getPercentile(0.90) / 1000.0,
+            getPercentile(0.99) / 1000.0, getPercentile(0.999) / 1000.0, getMax() / 1000.0);
+    }
+    
+    // Baldes não vazios: limite inferior, limite superior e contagem, em nanossegundos
+    void appendBuckets(StringBuilder out) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = counts.get(i);
+            if (count > 0) {
+                out.append(bucketLowerBound(i)).append('\t').append(bucketUpperBound(i)).append('\t').append(count).append('\n');
+            }
+        }
+    }
+}
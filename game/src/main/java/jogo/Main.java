@@ -0,0 +1,57 @@
+package jogo;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import javax.swing.SwingUtilities;
+
+public class Main {
+    public static void main(String[] args) throws Exception {
+        StartupTrace.mark("main");
+        if (Boolean.getBoolean("ivanjogo.cdsTraining")) {
+            trainClassDataSharing();
+            return;
+        }
+        // As fontes carregam enquanto o EDT monta a janela
+        Thread fonts = new Thread(() -> {
+            Theme.preloadFonts();
+            StartupTrace.mark("fontes");
+        }, "font-preload");
+        fonts.setDaemon(true);
+        fonts.start();
+        SwingUtilities.invokeLater(() -> {
+            StartupTrace.mark("EDT");
+            ReactionTimeGame game = new ReactionTimeGame();
+            StartupTrace.mark("janela montada");
+            game.setVisible(true);
+            StartupTrace.mark("janela visível");
+        });
+    }
+
+    // Execução de treino do arquivo AppCDS (perfil cds do Maven, headless): monta e desenha um
+    // painel e carrega as classes abertas em segundo plano, sem janela nem dados do jogador
+    private static void trainClassDataSharing() throws Exception {
+        Theme.preloadFonts();
+        SwingUtilities.invokeAndWait(() -> {
+            GamePanel panel = new GamePanel(false);
+            panel.setPlayerName("Treino");
+            panel.setSize(panel.getPreferredSize());
+            layoutTree(panel);
+            BufferedImage image = new BufferedImage(panel.getWidth(), panel.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = image.createGraphics();
+            panel.paint(g);
+            g.dispose();
+        });
+        for (Class<?> type : new Class<?>[] {ReactionTimeGame.class, ScoreStore.class, RoundRecorder.class,
+                TournamentClient.class, StationMetrics.class, DisplayCalibration.class}) {
+            Class.forName(type.getName(), true, Main.class.getClassLoader());
+        }
+        System.exit(0);
+    }
+
+    private static void layoutTree(Container container) {
+        container.doLayout();
+        for (Component child : container.getComponents()) {
+            if (child instanceof Container) layoutTree((Container) child);
+        }
+    }
+}
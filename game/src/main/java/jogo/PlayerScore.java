@@ -0,0 +1,34 @@
+package jogo;
+
+import java.util.*;
+
+// Score de um jogador; tempos em microssegundos, dispatchDelay é o atraso da fila do EDT medido na rodada
+class PlayerScore {
+    String playerName;
+    long reactionTimeMicros;
+    // Tempo medido antes de descontar a latência de tela da estação (igual ao corrigido sem calibração)
+    long rawReactionTimeMicros;
+    long dispatchDelayMicros;
+    Difficulty difficulty;
+    Date date;
+    
+    PlayerScore(String playerName, long reactionTimeMicros, long dispatchDelayMicros, Difficulty difficulty) {
+        this.playerName = playerName;
+        this.reactionTimeMicros = reactionTimeMicros;
+        this.rawReactionTimeMicros = reactionTimeMicros;
+        this.dispatchDelayMicros = dispatchDelayMicros;
+        this.difficulty = difficulty;
+        this.date = new Date();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("%s - %s (%s) [EDT %s]", playerName, formatMicros(reactionTimeMicros),
+            difficulty.displayName, formatMicros(dispatchDelayMicros));
+    }
+    
+    // Formata microssegundos como milissegundos com três casas decimais
+    static String formatMicros(long micros) {
+        return String.format(Locale.ROOT, "%d.%03d ms", micros / 1000L, micros % 1000L);
+    }
+}
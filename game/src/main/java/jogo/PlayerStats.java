@@ -0,0 +1,67 @@
+package jogo;
+
+import java.util.Locale;
+
+// Estatísticas contínuas de um jogador numa dificuldade: contagem, média e variância pelo
+// método de Welford e quantis pelo QuantileSketch. Não guarda as amostras, e duas instâncias
+// (outra sessão, outra estação) podem ser combinadas com merge. Não é thread-safe
+final class PlayerStats {
+    private long count;
+    private double mean;
+    // Soma dos quadrados dos desvios em relação à média
+    private double m2;
+    private final QuantileSketch sketch = new QuantileSketch();
+
+    void record(long reactionTimeMicros) {
+        count++;
+        double delta = reactionTimeMicros - mean;
+        mean += delta / count;
+        m2 += delta * (reactionTimeMicros - mean);
+        sketch.add(reactionTimeMicros);
+    }
+
+    // Combinação de Chan et al. para média e variância; o sketch é combinado à parte
+    void merge(PlayerStats other) {
+        if (other.count == 0) return;
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        mean += delta * other.count / total;
+        count = total;
+        sketch.merge(other.sketch);
+    }
+
+    PlayerStats copy() {
+        PlayerStats copy = new PlayerStats();
+        copy.merge(this);
+        return copy;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    double getMeanMicros() {
+        return mean;
+    }
+
+    // Variância amostral (µs²)
+    double getVariance() {
+        return count > 1 ? m2 / (count - 1) : 0.0;
+    }
+
+    double getStdDevMicros() {
+        return Math.sqrt(getVariance());
+    }
+
+    long getPercentileMicros(double percentile) {
+        return sketch.getQuantile(percentile / 100.0);
+    }
+
+    // Vários percentis de uma vez, com uma única ordenação do sketch
+    long[] getPercentilesMicros(double... percentiles) {
+        double[] quantiles = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) quantiles[i] = percentiles[i] / 100.0;
+        return sketch.getQuantiles(quantiles);
+    }
+}
@@ -0,0 +1,188 @@
+package jogo;
+
+import java.util.Arrays;
+
+// Sketch KLL de quantis para valores long: níveis de compactadores em que cada item do nível h
+// vale 2^h amostras. Quando o total passa da capacidade, o nível mais baixo cheio é ordenado e
+// metade dos itens (pares ou ímpares, por sorteio) sobe um nível. Memória limitada a ~3k itens
+// mais alguns por nível, inserção O(1) amortizada e sketches combináveis entre si
+final class QuantileSketch {
+    static final int DEFAULT_K = 200;
+    // Capacidade mínima de um nível, para os níveis baixos não compactarem a cada inserção
+    private static final int MIN_WIDTH = 8;
+    private static final double DECAY = 2.0 / 3.0;
+
+    private final int k;
+    // levels[h][0..sizes[h]) são os itens do nível h, sem ordem definida
+    private long[][] levels;
+    private int[] sizes;
+    // Capacidade de cada nível; recalculada quando surge um nível novo
+    private int[] capacities;
+    private int retained;
+    private int maxRetained;
+    private long count;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+    // Estado do xorshift que sorteia o lado mantido em cada compactação
+    private long random = 0x9E3779B97F4A7C15L;
+
+    QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    QuantileSketch(int k) {
+        this.k = k;
+        levels = new long[][] {new long[MIN_WIDTH]};
+        sizes = new int[1];
+        capacities = new int[] {capacity(0)};
+        maxRetained = capacities[0];
+    }
+
+    void add(long value) {
+        append(0, value);
+        count++;
+        if (value < min) min = value;
+        if (value > max) max = value;
+        if (retained > maxRetained) compress();
+    }
+
+    // Acrescenta as amostras de outro sketch a este; o outro não é alterado
+    void merge(QuantileSketch other) {
+        if (other.count == 0) return;
+        while (levels.length < other.levels.length) addLevel();
+        for (int h = 0; h < other.levels.length; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                append(h, other.levels[h][i]);
+            }
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        while (retained > maxRetained) compress();
+    }
+
+    QuantileSketch copy() {
+        QuantileSketch copy = new QuantileSketch(k);
+        copy.merge(this);
+        return copy;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    long getMin() {
+        return count == 0 ? 0L : min;
+    }
+
+    long getMax() {
+        return count == 0 ? 0L : max;
+    }
+
+    // Valor no quantil q (0-1); erro de posto em torno de 1.7/k no pior caso típico
+    long getQuantile(double q) {
+        return getQuantiles(q)[0];
+    }
+
+    // Vários quantis com uma única ordenação dos itens
+    long[] getQuantiles(double... qs) {
+        long[] result = new long[qs.length];
+        if (count == 0) return result;
+
+        // Itens ordenados por valor, com peso 2^h
+        long[] values = new long[retained];
+        long[] weights = new long[retained];
+        int n = 0;
+        for (int h = 0; h < levels.length; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                values[n] = levels[h][i];
+                weights[n++] = 1L << h;
+            }
+        }
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(values[a], values[b]));
+
+        for (int j = 0; j < qs.length; j++) {
+            double q = qs[j];
+            if (q <= 0.0) {
+                result[j] = min;
+                continue;
+            }
+            if (q >= 1.0) {
+                result[j] = max;
+                continue;
+            }
+            long rank = (long) Math.ceil(q * count);
+            long seen = 0;
+            result[j] = max;
+            for (int i = 0; i < n; i++) {
+                seen += weights[order[i]];
+                if (seen >= rank) {
+                    result[j] = values[order[i]];
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    // Número de itens guardados, para acompanhar a memória usada
+    int getRetained() {
+        return retained;
+    }
+
+    private int capacity(int level) {
+        int depth = levels.length - 1 - level;
+        return Math.max(MIN_WIDTH, (int) Math.ceil(k * Math.pow(DECAY, depth)));
+    }
+
+    private void append(int level, long value) {
+        if (sizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], levels[level].length * 2);
+        }
+        levels[level][sizes[level]++] = value;
+        retained++;
+    }
+
+    private void addLevel() {
+        levels = Arrays.copyOf(levels, levels.length + 1);
+        sizes = Arrays.copyOf(sizes, sizes.length + 1);
+        levels[levels.length - 1] = new long[MIN_WIDTH];
+        // As capacidades dependem da altura: o novo topo tem k e os de baixo encolhem
+        capacities = new int[levels.length];
+        maxRetained = 0;
+        for (int h = 0; h < levels.length; h++) {
+            capacities[h] = capacity(h);
+            maxRetained += capacities[h];
+        }
+    }
+
+    // Compacta o nível mais baixo que atingiu a capacidade
+    private void compress() {
+        for (int h = 0; h < levels.length; h++) {
+            if (sizes[h] >= capacities[h]) {
+                compact(h);
+                return;
+            }
+        }
+    }
+
+    private void compact(int level) {
+        if (level == levels.length - 1) addLevel();
+        long[] items = levels[level];
+        int size = sizes[level];
+        Arrays.sort(items, 0, size);
+        // Com tamanho ímpar, o maior fica no nível para manter o peso total exato
+        int even = size & ~1;
+        random ^= random << 13;
+        random ^= random >>> 7;
+        random ^= random << 17;
+        for (int i = (int) (random & 1L); i < even; i += 2) {
+            append(level + 1, items[i]);
+        }
+        retained -= even;
+        if (even < size) items[0] = items[size - 1];
+        sizes[level] = size - even;
+    }
+}
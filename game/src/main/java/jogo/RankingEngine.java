@@ -0,0 +1,159 @@
+package jogo;
+
+import java.util.*;
+
+// Motor de ranking: melhor tempo por (jogador, dificuldade) com busca O(1),
+// conjuntos ordenados para consultas top-K, histórico completo e estatísticas por jogador
+class RankingEngine {
+    // Score no ranking com a ordem de chegada, que desempata tempos iguais; o PlayerScore de
+    // quem chamou não é alterado (ele pode já estar com outras threads)
+    private static final class Entry implements Comparable<Entry> {
+        final PlayerScore score;
+        final long seq;
+
+        Entry(PlayerScore score, long seq) {
+            this.score = score;
+            this.seq = seq;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byTime = Long.compare(score.reactionTimeMicros, other.score.reactionTimeMicros);
+            return byTime != 0 ? byTime : Long.compare(seq, other.seq);
+        }
+    }
+    
+    // Melhor score por dificuldade e nome normalizado (minúsculas)
+    private final EnumMap<Difficulty, HashMap<String, Entry>> bestByPlayer = new EnumMap<>(Difficulty.class);
+    // Melhores scores ordenados por tempo, por dificuldade e no geral
+    private final EnumMap<Difficulty, TreeSet<Entry>> rankedByDifficulty = new EnumMap<>(Difficulty.class);
+    private final TreeSet<Entry> rankedOverall = new TreeSet<>();
+    // Todos os scores já registrados, sem limite
+    private final EnumMap<Difficulty, HashMap<String, ArrayList<PlayerScore>>> history = new EnumMap<>(Difficulty.class);
+    // Contagem, média, variância e quantis de todos os scores, com memória limitada
+    private final EnumMap<Difficulty, HashMap<String, PlayerStats>> stats = new EnumMap<>(Difficulty.class);
+    
+    private long nextSeq;
+    private long totalScores;
+    
+    RankingEngine() {
+        for (Difficulty difficulty : Difficulty.values()) {
+            bestByPlayer.put(difficulty, new HashMap<>());
+            rankedByDifficulty.put(difficulty, new TreeSet<>());
+            history.put(difficulty, new HashMap<>());
+            stats.put(difficulty, new HashMap<>());
+        }
+    }
+    
+    static String normalize(String playerName) {
+        return playerName.toLowerCase(Locale.ROOT);
+    }
+    
+    // Registra um score; retorna true se for o novo melhor do jogador nessa dificuldade
+    boolean submit(PlayerScore score) {
+        long seq = nextSeq++;
+        totalScores++;
+        
+        String key = normalize(score.playerName);
+        history.get(score.difficulty).computeIfAbsent(key, k -> new ArrayList<>()).add(score);
+        stats.get(score.difficulty).computeIfAbsent(key, k -> new PlayerStats()).record(score.reactionTimeMicros);
+        
+        HashMap<String, Entry> bests = bestByPlayer.get(score.difficulty);
+        Entry existing = bests.get(key);
+        if (existing != null && score.reactionTimeMicros >= existing.score.reactionTimeMicros) {
+            return false;
+        }
+        
+        // Substituir o melhor anterior nos conjuntos ordenados
+        TreeSet<Entry> ranked = rankedByDifficulty.get(score.difficulty);
+        if (existing != null) {
+            ranked.remove(existing);
+            rankedOverall.remove(existing);
+        }
+        Entry entry = new Entry(score, seq);
+        bests.put(key, entry);
+        ranked.add(entry);
+        rankedOverall.add(entry);
+        return true;
+    }
+    
+    // Registra todos os scores de outro ranking (histórico completo, não só os melhores)
+    void submitAll(RankingEngine other) {
+        for (Difficulty difficulty : Difficulty.values()) {
+            for (ArrayList<PlayerScore> scores : other.history.get(difficulty).values()) {
+                for (PlayerScore score : scores) submit(score);
+            }
+        }
+    }
+    
+    PlayerScore getBest(String playerName, Difficulty difficulty) {
+        Entry entry = bestByPlayer.get(difficulty).get(normalize(playerName));
+        return entry == null ? null : entry.score;
+    }
+    
+    // Melhores k scores no geral (um por jogador e dificuldade)
+    List<PlayerScore> topK(int k) {
+        return firstK(rankedOverall, k);
+    }
+    
+    List<PlayerScore> topK(Difficulty difficulty, int k) {
+        return firstK(rankedByDifficulty.get(difficulty), k);
+    }
+    
+    private static List<PlayerScore> firstK(TreeSet<Entry> ranked, int k) {
+        ArrayList<PlayerScore> result = new ArrayList<>(Math.min(k, ranked.size()));
+        Iterator<Entry> it = ranked.iterator();
+        while (result.size() < k && it.hasNext()) {
+            result.add(it.next().score);
+        }
+        return result;
+    }
+    
+    // Verdadeiro se o score está entre os k primeiros da dificuldade (null = geral). Um score
+    // fora do ranking é posto depois dos de tempo igual
+    boolean isInTopK(PlayerScore score, Difficulty difficulty, int k) {
+        TreeSet<Entry> ranked = difficulty == null ? rankedOverall : rankedByDifficulty.get(difficulty);
+        Entry entry = bestByPlayer.get(score.difficulty).get(normalize(score.playerName));
+        if (entry == null || entry.score != score) entry = new Entry(score, Long.MAX_VALUE);
+        Iterator<Entry> ahead = ranked.headSet(entry, false).iterator();
+        for (int i = 0; i < k; i++) {
+            if (!ahead.hasNext()) return true;
+            ahead.next();
+        }
+        return false;
+    }
+    
+    List<PlayerScore> getHistory(String playerName, Difficulty difficulty) {
+        ArrayList<PlayerScore> scores = history.get(difficulty).get(normalize(playerName));
+        return scores == null ? Collections.emptyList() : Collections.unmodifiableList(scores);
+    }
+    
+    // Estatísticas de todas as rodadas do jogador na dificuldade (null se nunca jogou)
+    PlayerStats getStats(String playerName, Difficulty difficulty) {
+        return stats.get(difficulty).get(normalize(playerName));
+    }
+    
+    // Número de entradas no ranking (melhores por jogador e dificuldade)
+    int size() {
+        return rankedOverall.size();
+    }
+    
+    long getTotalScores() {
+        return totalScores;
+    }
+    
+    boolean isEmpty() {
+        return rankedOverall.isEmpty();
+    }
+    
+    void clear() {
+        for (Difficulty difficulty : Difficulty.values()) {
+            bestByPlayer.get(difficulty).clear();
+            rankedByDifficulty.get(difficulty).clear();
+            history.get(difficulty).clear();
+            stats.get(difficulty).clear();
+        }
+        rankedOverall.clear();
+        totalScores = 0;
+    }
+}
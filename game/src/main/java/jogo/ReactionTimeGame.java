@@ -0,0 +1,23 @@
+package jogo;
+
+import javax.swing.*;
+
+public class ReactionTimeGame extends JFrame {
+    private GamePanel gamePanel;
+    
+    public ReactionTimeGame() {
+        initializeUI();
+    }
+    
+    private void initializeUI() {
+        setTitle("⚡ Teste de Tempo de Reação ⚡");
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setResizable(false);
+        
+        gamePanel = new GamePanel();
+        add(gamePanel);
+        
+        pack();
+        setLocationRelativeTo(null);
+    }
+}
@@ -0,0 +1,87 @@
+package jogo;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Formato binário das rodadas gravadas (arquivos rounds-*.rec).
+// Cabeçalho: [int MAGIC][byte versão][long relógio de parede ms][long nanoTime base]
+// Evento:    [byte tipo][varlong zigzag: delta em ns desde o evento anterior (o primeiro, desde a base)][campos]
+//   NAME     [varint id][varint n][nome UTF-8]      (uma vez por nome; as rodadas usam o id)
+//   ROUND    [varint id do nome][byte dificuldade][varlong ns até o estímulo planejado]
+//   STIMULUS [byte índice da tecla alvo]             (delta = instante real do estímulo)
+//   KEY      [byte índice da tecla + 1][varlong atraso do EDT µs]
+//            (versão 3: delta = chegada da tecla à fila; antes, a entrega, e o atraso era descontado)
+//   TIMEOUT, CANCEL sem campos
+//   DISPLAY  [varlong zigzag: latência de tela µs]   (versão 2; vale para as rodadas seguintes)
+final class RoundLog {
+    static final int MAGIC = 0x49565252; // "IVRR"
+    static final byte VERSION = 3;
+    // Versão 1 não tem o evento DISPLAY
+    static final byte MIN_VERSION = 1;
+    static final int HEADER_SIZE = 4 + 1 + 8 + 8;
+
+    static final byte NAME = 1;
+    static final byte ROUND = 2;
+    static final byte STIMULUS = 3;
+    static final byte KEY = 4;
+    static final byte TIMEOUT = 5;
+    static final byte CANCEL = 6;
+    static final byte DISPLAY = 7;
+
+    // Maior evento possível: tipo, delta, id, tamanho e nome de até 20 caracteres em UTF-8
+    static final int MAX_EVENT_SIZE = 1 + 10 + 5 + 5 + 20 * 4 + 10;
+
+    static final String EXTENSION = ".rec";
+
+    private RoundLog() {
+    }
+
+    static void writeHeader(ByteBuffer out, long wallMillis, long baseNanos) {
+        out.putInt(MAGIC);
+        out.put(VERSION);
+        out.putLong(wallMillis);
+        out.putLong(baseNanos);
+    }
+
+    static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("varlong inválido");
+    }
+
+    // Zigzag: deltas negativos pequenos também ocupam poucos bytes
+    static void putSignedVarLong(ByteBuffer out, long value) {
+        putVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    static long getSignedVarLong(ByteBuffer in) {
+        long value = getVarLong(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static void putString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarLong(out, bytes.length);
+        out.put(bytes);
+    }
+
+    static String getString(ByteBuffer in) {
+        int length = (int) getVarLong(in);
+        if (length < 0 || length > 1024) throw new IllegalArgumentException("Nome inválido: " + length + " bytes");
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
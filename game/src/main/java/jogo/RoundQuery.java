@@ -0,0 +1,281 @@
+package jogo;
+
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Consultas de agrupamento sobre a RoundTable: filtra por dificuldade, jogador e período,
+// agrupa por uma dimensão e agrega contagens, média, melhor tempo e quantis. As linhas são
+// divididas em blocos processados em paralelo pelo ForkJoinPool comum; cada bloco agrega em
+// arrays indexados pelo grupo e os parciais são combinados (quantis pelo QuantileSketch).
+// Uso: java -cp ivanjogo.jar jogo.RoundQuery [dimensão] [dificuldade] [arquivos ou diretórios...]
+public class RoundQuery {
+    enum Dimension {
+        PLAYER("Jogador"),
+        PLAYER_DIFFICULTY("Jogador e dificuldade"),
+        DIFFICULTY("Dificuldade"),
+        TARGET_KEY("Tecla alvo"),
+        HOUR_OF_DAY("Hora do dia");
+
+        final String displayName;
+
+        Dimension(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    // Linha do resultado; tempos em µs e apenas dos acertos
+    static final class Row {
+        final String label;
+        final long rounds;
+        final long hits;
+        final long timeouts;
+        final long wrongKeys;
+        final long earlyKeys;
+        final double meanMicros;
+        final long bestMicros;
+        final long p50Micros;
+        final long p95Micros;
+
+        Row(String label, long rounds, long hits, long timeouts, long wrongKeys, long earlyKeys, double meanMicros,
+                long bestMicros, long p50Micros, long p95Micros) {
+            this.label = label;
+            this.rounds = rounds;
+            this.hits = hits;
+            this.timeouts = timeouts;
+            this.wrongKeys = wrongKeys;
+            this.earlyKeys = earlyKeys;
+            this.meanMicros = meanMicros;
+            this.bestMicros = bestMicros;
+            this.p50Micros = p50Micros;
+            this.p95Micros = p95Micros;
+        }
+
+        // Teclas erradas por rodada
+        double wrongKeyRate() {
+            return rounds == 0 ? 0.0 : (double) wrongKeys / rounds;
+        }
+    }
+
+    // Blocos com pelo menos este número de linhas; acima disso, uns poucos por thread do pool,
+    // já que combinar os parciais (um sketch por grupo) custa mais que agregar as linhas
+    private static final int MIN_LEAF_ROWS = 64 * 1024;
+    private static final int LEAVES_PER_THREAD = 4;
+
+    private final RoundTable table;
+    private int leafRows;
+    private Dimension dimension = Dimension.PLAYER;
+    private Difficulty difficulty;
+    private int player = -1;
+    private long fromMillis = Long.MIN_VALUE;
+    private long toMillis = Long.MAX_VALUE;
+
+    RoundQuery(RoundTable table) {
+        this.table = table;
+    }
+
+    RoundQuery groupBy(Dimension dimension) {
+        this.dimension = dimension;
+        return this;
+    }
+
+    // null = todas as dificuldades
+    RoundQuery difficulty(Difficulty difficulty) {
+        this.difficulty = difficulty;
+        return this;
+    }
+
+    // null = todos os jogadores; um nome que não aparece no histórico não seleciona nada
+    RoundQuery player(String playerName) {
+        if (playerName == null) {
+            player = -1;
+        } else {
+            int id = table.findPlayer(playerName);
+            player = id < 0 ? -2 : id;
+        }
+        return this;
+    }
+
+    // Rodadas iniciadas em [fromMillis, toMillis) no relógio de parede
+    RoundQuery between(long fromMillis, long toMillis) {
+        this.fromMillis = fromMillis;
+        this.toMillis = toMillis;
+        return this;
+    }
+
+    // Linhas com pelo menos uma rodada, ordenadas pela mediana (grupos sem acerto no fim)
+    List<Row> run() {
+        int leaves = ForkJoinPool.getCommonPoolParallelism() * LEAVES_PER_THREAD;
+        leafRows = Math.max(MIN_LEAF_ROWS, (table.size() + leaves - 1) / leaves);
+        Aggregate total = new AggregateTask(0, table.size()).invoke();
+        ArrayList<Row> rows = new ArrayList<>();
+        for (int group = 0; group < total.rounds.length; group++) {
+            if (total.rounds[group] == 0) continue;
+            QuantileSketch sketch = total.sketches[group];
+            long hits = total.hits[group];
+            long[] quantiles = sketch == null ? new long[2] : sketch.getQuantiles(0.50, 0.95);
+            rows.add(new Row(label(group), total.rounds[group], hits, total.timeouts[group], total.wrongKeys[group],
+                total.earlyKeys[group], hits == 0 ? 0.0 : (double) total.sumMicros[group] / hits,
+                hits == 0 ? 0L : total.bestMicros[group], quantiles[0], quantiles[1]));
+        }
+        rows.sort(Comparator.comparing((Row row) -> row.hits == 0).thenComparingLong(row -> row.p50Micros));
+        return rows;
+    }
+
+    private int groupCount() {
+        switch (dimension) {
+            case PLAYER: return table.playerCount();
+            case PLAYER_DIFFICULTY: return table.playerCount() * Difficulty.values().length;
+            case DIFFICULTY: return Difficulty.values().length;
+            // Índice 0 para rodadas encerradas antes do estímulo
+            case TARGET_KEY: return GameEngine.AVAILABLE_KEYS.length + 1;
+            default: return 24;
+        }
+    }
+
+    private int groupOf(int row) {
+        switch (dimension) {
+            case PLAYER: return table.player[row];
+            case PLAYER_DIFFICULTY: return table.player[row] * Difficulty.values().length + table.difficulty[row];
+            case DIFFICULTY: return table.difficulty[row];
+            case TARGET_KEY: return table.targetKey[row] + 1;
+            default: return table.hourOfDay[row];
+        }
+    }
+
+    private String label(int group) {
+        Difficulty[] difficulties = Difficulty.values();
+        switch (dimension) {
+            case PLAYER: return table.playerName(group);
+            case PLAYER_DIFFICULTY:
+                return table.playerName(group / difficulties.length) + " (" + difficulties[group % difficulties.length].displayName + ")";
+            case DIFFICULTY: return difficulties[group].displayName;
+            case TARGET_KEY: return group == 0 ? "(sem estímulo)" : GameEngine.AVAILABLE_KEYS[group - 1];
+            default: return String.format(Locale.ROOT, "%02dh", group);
+        }
+    }
+
+    private boolean matches(int row) {
+        if (difficulty != null && table.difficulty[row] != difficulty.ordinal()) return false;
+        if (player != -1 && table.player[row] != player) return false;
+        long wall = table.wallMillis[row];
+        return wall >= fromMillis && wall < toMillis;
+    }
+
+    // Agregados parciais de um bloco de linhas, indexados pelo grupo
+    private final class Aggregate {
+        final long[] rounds;
+        final long[] hits;
+        final long[] timeouts;
+        final long[] wrongKeys;
+        final long[] earlyKeys;
+        final long[] sumMicros;
+        final long[] bestMicros;
+        final QuantileSketch[] sketches;
+
+        Aggregate(int groups) {
+            rounds = new long[groups];
+            hits = new long[groups];
+            timeouts = new long[groups];
+            wrongKeys = new long[groups];
+            earlyKeys = new long[groups];
+            sumMicros = new long[groups];
+            bestMicros = new long[groups];
+            Arrays.fill(bestMicros, Long.MAX_VALUE);
+            sketches = new QuantileSketch[groups];
+        }
+
+        void scan(int from, int to) {
+            for (int row = from; row < to; row++) {
+                if (!matches(row)) continue;
+                int group = groupOf(row);
+                rounds[group]++;
+                wrongKeys[group] += table.wrongKeys[row];
+                earlyKeys[group] += table.earlyKeys[row];
+                byte outcome = table.outcome[row];
+                if (outcome == RoundTable.HIT) {
+                    long micros = table.reactionMicros[row];
+                    hits[group]++;
+                    sumMicros[group] += micros;
+                    if (micros < bestMicros[group]) bestMicros[group] = micros;
+                    if (sketches[group] == null) sketches[group] = new QuantileSketch();
+                    sketches[group].add(micros);
+                } else if (outcome == RoundTable.TIMEOUT) {
+                    timeouts[group]++;
+                }
+            }
+        }
+
+        Aggregate merge(Aggregate other) {
+            for (int group = 0; group < rounds.length; group++) {
+                rounds[group] += other.rounds[group];
+                hits[group] += other.hits[group];
+                timeouts[group] += other.timeouts[group];
+                wrongKeys[group] += other.wrongKeys[group];
+                earlyKeys[group] += other.earlyKeys[group];
+                sumMicros[group] += other.sumMicros[group];
+                bestMicros[group] = Math.min(bestMicros[group], other.bestMicros[group]);
+                if (other.sketches[group] != null) {
+                    if (sketches[group] == null) sketches[group] = other.sketches[group];
+                    else sketches[group].merge(other.sketches[group]);
+                }
+            }
+            return this;
+        }
+    }
+
+    private final class AggregateTask extends RecursiveTask<Aggregate> {
+        private final int from;
+        private final int to;
+
+        AggregateTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Aggregate compute() {
+            if (to - from <= leafRows) {
+                Aggregate aggregate = new Aggregate(groupCount());
+                aggregate.scan(from, to);
+                return aggregate;
+            }
+            int middle = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(from, middle);
+            left.fork();
+            Aggregate right = new AggregateTask(middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Dimension dimension = args.length > 0 ? Dimension.valueOf(args[0]) : Dimension.PLAYER;
+        Difficulty difficulty = args.length > 1 && !args[1].equals("-") ? Difficulty.valueOf(args[1]) : null;
+        ArrayList<Path> inputs = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) inputs.add(Paths.get(args[i]));
+        if (inputs.isEmpty()) inputs.add(RoundRecorder.defaultDirectory());
+
+        long loadStart = System.nanoTime();
+        RoundTable table = RoundTable.load(inputs);
+        long queryStart = System.nanoTime();
+        List<Row> rows = new RoundQuery(table).groupBy(dimension).difficulty(difficulty).run();
+        long end = System.nanoTime();
+
+        System.out.printf(Locale.ROOT, "%-28s %8s %8s %8s %8s %12s %12s %12s %12s%n",
+            dimension.displayName, "rodadas", "acertos", "esgot.", "err/rod", "média", "melhor", "p50", "p95");
+        for (Row row : rows) {
+            System.out.printf(Locale.ROOT, "%-28s %8d %8d %8d %8.3f %12s %12s %12s %12s%n", row.label, row.rounds, row.hits,
+                row.timeouts, row.wrongKeyRate(), PlayerScore.formatMicros((long) row.meanMicros),
+                PlayerScore.formatMicros(row.bestMicros), PlayerScore.formatMicros(row.p50Micros),
+                PlayerScore.formatMicros(row.p95Micros));
+        }
+        System.out.printf(Locale.ROOT, "%d rodadas carregadas em %.3f s, consulta em %.1f ms%n",
+            table.size(), (queryStart - loadStart) / 1e9, (end - queryStart) / 1e6);
+    }
+}
@@ -0,0 +1,172 @@
+package jogo;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Grava os eventos das rodadas de um GameEngine num arquivo rounds-*.rec (formato em RoundLog).
+// A codificação é feita na thread do motor, num buffer em memória; ao fim de cada rodada (ou
+// com o buffer cheio) ele vai para uma thread de escrita dividida por todos os gravadores, que
+// grava pelo FileChannel. A thread do motor nunca espera pelo disco
+class RoundRecorder implements GameEngine.RoundListener, Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static ExecutorService writer;
+    // Diferencia os arquivos de estações abertas no mesmo milissegundo
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final HashMap<String, Integer> nameIds = new HashMap<>();
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private long lastNanos;
+    private int targetIndex = -1;
+    private volatile boolean failed;
+
+    private RoundRecorder(Path path, long baseNanos) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        this.lastNanos = baseNanos;
+        RoundLog.writeHeader(buffer, System.currentTimeMillis(), baseNanos);
+    }
+
+    // Cria um arquivo novo no diretório
+    static RoundRecorder open(Path directory, Clock clock) throws IOException {
+        Files.createDirectories(directory);
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date());
+        String name = "rounds-" + stamp + "-" + SEQUENCE.getAndIncrement() + RoundLog.EXTENSION;
+        return new RoundRecorder(directory.resolve(name), clock.nanoTime());
+    }
+
+    static Path defaultDirectory() {
+        return ScoreStore.defaultDirectory().resolve("rounds");
+    }
+
+    private static synchronized ExecutorService writer() {
+        if (writer == null) {
+            writer = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "round-recorder");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return writer;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void roundPrepared(String playerName, Difficulty difficulty, long startNanos, long plannedOnsetNanos) {
+        Integer id = nameIds.get(playerName);
+        if (id == null) {
+            id = nameIds.size();
+            nameIds.put(playerName, id);
+            ensure(RoundLog.MAX_EVENT_SIZE + playerName.length() * 4);
+            buffer.put(RoundLog.NAME);
+            RoundLog.putSignedVarLong(buffer, 0L);
+            RoundLog.putVarLong(buffer, id);
+            RoundLog.putString(buffer, playerName);
+        }
+        event(RoundLog.ROUND, startNanos);
+        RoundLog.putVarLong(buffer, id);
+        buffer.put((byte) difficulty.ordinal());
+        RoundLog.putSignedVarLong(buffer, plannedOnsetNanos - startNanos);
+        targetIndex = -1;
+    }
+
+    @Override
+    public void stimulusStarted(int targetIndex, long onsetNanos) {
+        event(RoundLog.STIMULUS, onsetNanos);
+        buffer.put((byte) targetIndex);
+        this.targetIndex = targetIndex;
+    }
+
+    @Override
+    public void keyPressed(int keyIndex, long captureNanos, long dispatchDelayMicros) {
+        event(RoundLog.KEY, captureNanos);
+        buffer.put((byte) (keyIndex + 1));
+        RoundLog.putVarLong(buffer, Math.max(0L, dispatchDelayMicros));
+        // A tecla certa depois do estímulo encerra a rodada
+        if (targetIndex >= 0 && keyIndex == targetIndex) handOff();
+    }
+
+    @Override
+    public void timedOut(long nowNanos) {
+        event(RoundLog.TIMEOUT, nowNanos);
+        handOff();
+    }
+
+    @Override
+    public void cancelled(long nowNanos) {
+        event(RoundLog.CANCEL, nowNanos);
+        handOff();
+    }
+
+    @Override
+    public void displayOffsetChanged(long offsetMicros) {
+        event(RoundLog.DISPLAY, lastNanos);
+        RoundLog.putSignedVarLong(buffer, offsetMicros);
+    }
+
+    private void event(byte type, long nanos) {
+        ensure(RoundLog.MAX_EVENT_SIZE);
+        buffer.put(type);
+        RoundLog.putSignedVarLong(buffer, nanos - lastNanos);
+        lastNanos = nanos;
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) handOff();
+    }
+
+    // Entrega o buffer atual à thread de escrita e segue com outro, reaproveitado se houver
+    private void handOff() {
+        if (buffer.position() == 0 || failed) {
+            buffer.clear();
+            return;
+        }
+        ByteBuffer full = buffer;
+        ByteBuffer next = free.poll();
+        buffer = next != null ? next : ByteBuffer.allocate(BUFFER_SIZE);
+        full.flip();
+        writer().execute(() -> write(full));
+    }
+
+    private void write(ByteBuffer full) {
+        try {
+            while (full.hasRemaining()) {
+                channel.write(full);
+            }
+        } catch (IOException e) {
+            if (!failed) System.err.println("Falha ao gravar rodadas em " + path + ": " + e.getMessage());
+            failed = true;
+        }
+        full.clear();
+        free.offer(full);
+    }
+
+    // Grava o que falta e fecha o arquivo; chamado na thread do motor ou num shutdown hook
+    @Override
+    public void close() throws IOException {
+        handOff();
+        Future<?> closed = writer().submit(() -> {
+            channel.close();
+            return null;
+        });
+        try {
+            closed.get(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IOException("Falha ao fechar " + path, e);
+        }
+    }
+}
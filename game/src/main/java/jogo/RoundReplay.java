@@ -0,0 +1,296 @@
+package jogo;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.text.SimpleDateFormat;
+import java.util.*;
+import java.util.stream.Stream;
+
+// Reexecuta rodadas gravadas pelo RoundRecorder no GameEngine atual, sem esperas: os
+// instantes vêm do arquivo por um relógio de replay. Reconstrói o ranking e, como as regras
+// são as do código atual, serve para repontuar rodadas antigas depois de uma mudança.
+// Com -v lista cada rodada com todas as teclas, para resolver contestações.
+// Uso: java -cp ivanjogo.jar jogo.RoundReplay [-v] [--store=diretório] [arquivos ou diretórios...]
+public class RoundReplay {
+    private static final int READ_BUFFER = 1024 * 1024;
+    // Com menos que isso no buffer, ler mais antes do próximo evento
+    private static final int REFILL_THRESHOLD = 4096;
+    // Carregando para as análises, só a tabela importa: o ranking (com o histórico completo)
+    // é zerado a cada tantos acertos, como no SimulationRunner
+    private static final int RANKING_RESET_ROUNDS = 200_000;
+
+    private static final class ReplayClock implements Clock {
+        long now;
+
+        @Override
+        public long nanoTime() {
+            return now;
+        }
+    }
+
+    private final ReplayClock clock = new ReplayClock();
+    private final RankingEngine ranking = new RankingEngine();
+    private final GameEngine engine;
+    private final ScoreStore store;
+    private final PrintStream verbose;
+    // Destino opcional das rodadas reexecutadas, para as análises
+    private RoundTable table;
+    // Arquivo da versão 1 ou 2: o instante da tecla é o da entrega pelo EDT
+    private boolean keyAtDelivery;
+
+    private long rounds;
+    private long hits;
+    private long timeouts;
+    private long cancelled;
+    private long wrongKeys;
+    private long earlyKeys;
+    private long events;
+
+    // Estado da rodada em andamento, para a listagem detalhada
+    private final StringBuilder line = new StringBuilder();
+    private long roundStartNanos;
+    private long onsetNanos;
+    private long roundWallMillis;
+    private String roundPlayer;
+    private int roundTarget;
+    private int roundEarlyKeys;
+
+    RoundReplay(ScoreStore store, PrintStream verbose) {
+        this.store = store;
+        this.verbose = verbose;
+        // O replay nunca sorteia: atraso e tecla alvo vêm do arquivo
+        engine = new GameEngine(clock, new SplittableRandom(), ranking);
+    }
+
+    RankingEngine getRanking() {
+        return ranking;
+    }
+    
+    void setTable(RoundTable table) {
+        this.table = table;
+    }
+
+    void replay(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer in = ByteBuffer.allocate(READ_BUFFER);
+            boolean eof = fill(channel, in);
+            if (in.remaining() < RoundLog.HEADER_SIZE || in.getInt() != RoundLog.MAGIC) {
+                throw new IOException(file + " não é um arquivo de rodadas");
+            }
+            byte version = in.get();
+            if (version < RoundLog.MIN_VERSION || version > RoundLog.VERSION) throw new IOException(file + ": versão " + version + " não suportada");
+            keyAtDelivery = version < 3;
+            long wallMillis = in.getLong();
+            long baseNanos = in.getLong();
+
+            HashMap<Integer, String> names = new HashMap<>();
+            long nanos = baseNanos;
+            engine.cancel();
+            // Cada gravação traz a latência de tela da sua estação
+            engine.setDisplayOffsetMicros(0L);
+            while (true) {
+                if (!eof && in.remaining() < REFILL_THRESHOLD) {
+                    in.compact();
+                    eof = fill(channel, in);
+                }
+                if (!in.hasRemaining()) break;
+                int start = in.position();
+                try {
+                    byte type = in.get();
+                    nanos += RoundLog.getSignedVarLong(in);
+                    clock.now = nanos;
+                    handle(type, in, names, nanos, wallMillis + (nanos - baseNanos) / 1_000_000L);
+                    events++;
+                } catch (BufferUnderflowException e) {
+                    // Gravação interrompida no meio de um evento: o resto é descartado
+                    System.err.println(file + ": arquivo truncado após " + start + " bytes do último bloco");
+                    break;
+                }
+            }
+            // Rodada sem desfecho no fim do arquivo (programa encerrado durante a rodada)
+            engine.cancel();
+        }
+    }
+
+    private static boolean fill(FileChannel channel, ByteBuffer in) throws IOException {
+        boolean eof = false;
+        while (in.hasRemaining()) {
+            if (channel.read(in) < 0) {
+                eof = true;
+                break;
+            }
+        }
+        in.flip();
+        return eof;
+    }
+
+    private void handle(byte type, ByteBuffer in, Map<Integer, String> names, long nanos, long wallMillis) throws IOException {
+        switch (type) {
+            case RoundLog.NAME: {
+                int id = (int) RoundLog.getVarLong(in);
+                names.put(id, RoundLog.getString(in));
+                break;
+            }
+            case RoundLog.ROUND: {
+                String name = names.get((int) RoundLog.getVarLong(in));
+                Difficulty difficulty = Difficulty.values()[in.get()];
+                long plannedOnset = nanos + RoundLog.getSignedVarLong(in);
+                if (name == null) throw new IOException("Rodada com nome não declarado");
+                engine.prepareRound(name, difficulty, nanos, plannedOnset);
+                rounds++;
+                roundStartNanos = nanos;
+                onsetNanos = 0L;
+                roundWallMillis = wallMillis;
+                roundPlayer = name;
+                roundTarget = -1;
+                roundEarlyKeys = 0;
+                if (verbose != null) {
+                    line.setLength(0);
+                    line.append(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(wallMillis)))
+                        .append(' ').append(name).append(" (").append(difficulty.displayName).append(')');
+                }
+                break;
+            }
+            case RoundLog.STIMULUS: {
+                int targetIndex = in.get();
+                engine.selectTargetKey(targetIndex);
+                engine.startStimulus(nanos);
+                onsetNanos = nanos;
+                roundTarget = targetIndex;
+                if (verbose != null) {
+                    line.append(" alvo ").append(GameEngine.AVAILABLE_KEYS[targetIndex])
+                        .append(" estímulo ").append(signedMicros(engine.getOnsetErrorNanos() / 1000L));
+                }
+                break;
+            }
+            case RoundLog.KEY: {
+                int keyIndex = in.get() - 1;
+                long dispatchDelayMicros = RoundLog.getVarLong(in);
+                boolean active = engine.isActive();
+                if (!active) {
+                    earlyKeys++;
+                    roundEarlyKeys++;
+                }
+                // Gravações antigas guardam a entrega e descontavam dela o atraso do EDT
+                long captureNanos = keyAtDelivery ? nanos - dispatchDelayMicros * 1000L : nanos;
+                RoundResult result = engine.keyPressed(keyIndex, captureNanos, dispatchDelayMicros);
+                if (verbose != null) {
+                    long since = (nanos - (onsetNanos != 0L ? onsetNanos : roundStartNanos)) / 1000L;
+                    line.append(' ').append(keyIndex < 0 ? "?" : GameEngine.AVAILABLE_KEYS[keyIndex])
+                        .append(active ? " " : " antes ").append(PlayerScore.formatMicros(since));
+                }
+                if (result == null) {
+                    if (active) wrongKeys++;
+                    break;
+                }
+                hits++;
+                result.score.date = new Date(wallMillis);
+                if (store != null) store.append(result.score);
+                if (table != null) {
+                    if (ranking.getTotalScores() >= RANKING_RESET_ROUNDS) ranking.clear();
+                    table.append(roundPlayer, result.score.difficulty, roundTarget, RoundTable.HIT, result.score.reactionTimeMicros,
+                        result.score.dispatchDelayMicros, result.wrongKeys, roundEarlyKeys, roundWallMillis);
+                }
+                if (verbose != null) {
+                    line.append(" -> ").append(PlayerScore.formatMicros(result.score.reactionTimeMicros));
+                    if (result.score.rawReactionTimeMicros != result.score.reactionTimeMicros) {
+                        line.append(" (bruto ").append(PlayerScore.formatMicros(result.score.rawReactionTimeMicros)).append(')');
+                    }
+                    verbose.println(line.append(" (EDT ").append(PlayerScore.formatMicros(result.score.dispatchDelayMicros)).append(") ")
+                        .append(result.rating));
+                }
+                break;
+            }
+            case RoundLog.TIMEOUT:
+                if (engine.timeout()) {
+                    timeouts++;
+                    if (table != null) {
+                        table.append(roundPlayer, engine.getDifficulty(), roundTarget, RoundTable.TIMEOUT, -1L, 0L,
+                            engine.getWrongKeys(), roundEarlyKeys, roundWallMillis);
+                    }
+                    if (verbose != null) verbose.println(line.append(" -> tempo esgotado"));
+                }
+                break;
+            case RoundLog.DISPLAY:
+                engine.setDisplayOffsetMicros(RoundLog.getSignedVarLong(in));
+                break;
+            case RoundLog.CANCEL:
+                if (engine.isActive() || engine.getState() == GameEngine.State.WAITING) {
+                    cancelled++;
+                    if (table != null) {
+                        table.append(roundPlayer, engine.getDifficulty(), roundTarget, RoundTable.CANCELLED, -1L, 0L,
+                            engine.getWrongKeys(), roundEarlyKeys, roundWallMillis);
+                    }
+                    if (verbose != null) verbose.println(line.append(" -> cancelada"));
+                }
+                engine.cancel();
+                break;
+            default:
+                throw new IOException("Tipo de evento desconhecido: " + type);
+        }
+    }
+
+    private static String signedMicros(long micros) {
+        return (micros < 0 ? "-" : "+") + PlayerScore.formatMicros(Math.abs(micros));
+    }
+
+    // Arquivos .rec dos argumentos (diretórios são percorridos), em ordem de nome = ordem de gravação
+    static List<Path> collect(List<Path> inputs) throws IOException {
+        ArrayList<Path> files = new ArrayList<>();
+        for (Path path : inputs) {
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> listing = Files.list(path)) {
+                    listing.filter(p -> p.getFileName().toString().endsWith(RoundLog.EXTENSION)).forEach(files::add);
+                }
+            } else {
+                files.add(path);
+            }
+        }
+        files.sort(Comparator.comparing(p -> p.getFileName().toString()));
+        return files;
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean verbose = false;
+        Path storeDirectory = null;
+        ArrayList<Path> inputs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("-v")) verbose = true;
+            else if (arg.startsWith("--store=")) storeDirectory = Paths.get(arg.substring("--store=".length()));
+            else inputs.add(Paths.get(arg));
+        }
+        if (inputs.isEmpty()) inputs.add(RoundRecorder.defaultDirectory());
+
+        // O ranking reconstruído vai para um armazenamento novo, nunca por cima de um existente
+        ScoreStore store = null;
+        if (storeDirectory != null) {
+            if (Files.exists(storeDirectory.resolve("scores.log")) || Files.exists(storeDirectory.resolve("scores.snapshot"))) {
+                System.err.println(storeDirectory + " já tem scores; escolha um diretório vazio");
+                System.exit(1);
+            }
+            store = ScoreStore.open(storeDirectory, score -> { });
+        }
+
+        RoundReplay replay = new RoundReplay(store, verbose ? System.out : null);
+        List<Path> files = collect(inputs);
+        long begin = System.nanoTime();
+        for (Path file : files) {
+            replay.replay(file);
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        if (store != null) store.close();
+
+        System.out.printf(Locale.ROOT, "%d arquivos, %d eventos, %d rodadas em %.3f s (%.0f rodadas/s)%n",
+            files.size(), replay.events, replay.rounds, seconds, replay.rounds / Math.max(seconds, 1e-9));
+        System.out.printf(Locale.ROOT, "acertos: %d  tempo esgotado: %d  canceladas: %d  teclas erradas: %d  teclas antes do estímulo: %d%n",
+            replay.hits, replay.timeouts, replay.cancelled, replay.wrongKeys, replay.earlyKeys);
+        List<PlayerScore> top = replay.ranking.topK(10);
+        if (!top.isEmpty()) System.out.println("TOP " + top.size() + ":");
+        for (int i = 0; i < top.size(); i++) {
+            System.out.printf(Locale.ROOT, "%2d. %s%n", i + 1, top.get(i));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package jogo;
+
+// Resultado de uma rodada concluída com a tecla certa
+class RoundResult {
+    // Classificação usada no feedback ao jogador
+    enum Rating { RECORD, INCREDIBLE, GREAT, GOOD, LATE }
+    
+    final PlayerScore score;
+    final boolean personalBest;
+    final boolean withinTimeout;
+    final Rating rating;
+    // Teclas erradas pressionadas antes do acerto
+    final int wrongKeys;
+    // Erro do início do estímulo em relação ao instante planejado
+    final long onsetErrorMicros;
+    
+    RoundResult(PlayerScore score, boolean personalBest, boolean withinTimeout, Rating rating, int wrongKeys,
+            long onsetErrorMicros) {
+        this.score = score;
+        this.personalBest = personalBest;
+        this.withinTimeout = withinTimeout;
+        this.rating = rating;
+        this.wrongKeys = wrongKeys;
+        this.onsetErrorMicros = onsetErrorMicros;
+    }
+}
@@ -0,0 +1,120 @@
+package jogo;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.*;
+
+// Histórico de rodadas em colunas de tipos primitivos, para consultas do RoundQuery sem um
+// objeto por rodada. Nomes de jogador ficam num dicionário (coluna com o id). Preenchida
+// pelo RoundReplay a partir das gravações; depois de carregada só é lida
+final class RoundTable {
+    // Desfecho da rodada
+    static final byte HIT = 0;
+    static final byte TIMEOUT = 1;
+    static final byte CANCELLED = 2;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final HashMap<String, Integer> playerIds = new HashMap<>();
+    private final ArrayList<String> playerNames = new ArrayList<>();
+    private final ZoneRules zone = ZoneId.systemDefault().getRules();
+    // Deslocamento do fuso da última hora consultada; muda só em horário de verão
+    private long offsetHour = Long.MIN_VALUE;
+    private long offsetMillis;
+
+    private int size;
+    // Tempo de reação (µs) nos acertos, -1 nas outras rodadas
+    long[] reactionMicros = new long[INITIAL_CAPACITY];
+    long[] dispatchDelayMicros = new long[INITIAL_CAPACITY];
+    // Início da rodada no relógio de parede (ms)
+    long[] wallMillis = new long[INITIAL_CAPACITY];
+    int[] player = new int[INITIAL_CAPACITY];
+    byte[] difficulty = new byte[INITIAL_CAPACITY];
+    // Índice em GameEngine.AVAILABLE_KEYS, -1 se a rodada acabou antes do estímulo
+    byte[] targetKey = new byte[INITIAL_CAPACITY];
+    byte[] outcome = new byte[INITIAL_CAPACITY];
+    // Teclas erradas depois do estímulo e teclas antes dele (limitadas a 127)
+    byte[] wrongKeys = new byte[INITIAL_CAPACITY];
+    byte[] earlyKeys = new byte[INITIAL_CAPACITY];
+    // Hora local (0-23) do início da rodada
+    byte[] hourOfDay = new byte[INITIAL_CAPACITY];
+
+    // Carrega as rodadas de arquivos .rec ou diretórios com eles
+    static RoundTable load(List<Path> inputs) throws IOException {
+        RoundTable table = new RoundTable();
+        RoundReplay replay = new RoundReplay(null, null);
+        replay.setTable(table);
+        for (Path file : RoundReplay.collect(inputs)) {
+            replay.replay(file);
+        }
+        return table;
+    }
+
+    void append(String playerName, Difficulty difficulty, int targetKey, byte outcome, long reactionMicros,
+            long dispatchDelayMicros, int wrongKeys, int earlyKeys, long wallMillis) {
+        if (size == this.reactionMicros.length) grow();
+        int row = size++;
+        this.player[row] = playerId(playerName);
+        this.difficulty[row] = (byte) difficulty.ordinal();
+        this.targetKey[row] = (byte) targetKey;
+        this.outcome[row] = outcome;
+        this.reactionMicros[row] = reactionMicros;
+        this.dispatchDelayMicros[row] = dispatchDelayMicros;
+        this.wrongKeys[row] = (byte) Math.min(127, wrongKeys);
+        this.earlyKeys[row] = (byte) Math.min(127, earlyKeys);
+        this.wallMillis[row] = wallMillis;
+        long hour = Math.floorDiv(wallMillis, 3_600_000L);
+        if (hour != offsetHour) {
+            offsetHour = hour;
+            offsetMillis = zone.getOffset(Instant.ofEpochMilli(wallMillis)).getTotalSeconds() * 1000L;
+        }
+        this.hourOfDay[row] = (byte) Math.floorMod(Math.floorDiv(wallMillis + offsetMillis, 3_600_000L), 24L);
+    }
+
+    private int playerId(String playerName) {
+        String key = RankingEngine.normalize(playerName);
+        Integer id = playerIds.get(key);
+        if (id == null) {
+            id = playerNames.size();
+            playerIds.put(key, id);
+            playerNames.add(playerName);
+        }
+        return id;
+    }
+
+    private void grow() {
+        int capacity = reactionMicros.length * 2;
+        reactionMicros = Arrays.copyOf(reactionMicros, capacity);
+        dispatchDelayMicros = Arrays.copyOf(dispatchDelayMicros, capacity);
+        wallMillis = Arrays.copyOf(wallMillis, capacity);
+        player = Arrays.copyOf(player, capacity);
+        difficulty = Arrays.copyOf(difficulty, capacity);
+        targetKey = Arrays.copyOf(targetKey, capacity);
+        outcome = Arrays.copyOf(outcome, capacity);
+        wrongKeys = Arrays.copyOf(wrongKeys, capacity);
+        earlyKeys = Arrays.copyOf(earlyKeys, capacity);
+        hourOfDay = Arrays.copyOf(hourOfDay, capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int playerCount() {
+        return playerNames.size();
+    }
+
+    // Nome como apareceu pela primeira vez
+    String playerName(int id) {
+        return playerNames.get(id);
+    }
+
+    // Id do jogador (sem diferenciar maiúsculas) ou -1 se não aparece no histórico
+    int findPlayer(String playerName) {
+        Integer id = playerIds.get(RankingEngine.normalize(playerName));
+        return id == null ? -1 : id;
+    }
+}
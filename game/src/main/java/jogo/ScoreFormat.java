@@ -0,0 +1,516 @@
+package jogo;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+// Exportação e importação de scores em CSV e JSON, em fluxo. Os leitores percorrem o texto
+// caractere a caractere e montam cada PlayerScore direto dos campos, sem árvore de objetos
+// nem o arquivo inteiro em memória; os escritores gravam um score por vez. O formato vem da
+// extensão do arquivo (.csv, .json ou .jsonl).
+//
+// CSV: cabeçalho com player,difficulty,reactionMicros[,dispatchDelayMicros][,dateMillis]
+// [,rawReactionMicros] em qualquer ordem, campos entre aspas como na RFC 4180. JSON: um array
+// de objetos com essas chaves ou um objeto por linha; chaves desconhecidas são ignoradas.
+// rawReactionMicros é o tempo antes da correção da latência de tela; sem ele, igual ao corrigido.
+enum ScoreFormat {
+    CSV,
+    JSON;
+
+    // Nomes maiores que isso são recusados (o jogo limita a 20 caracteres)
+    static final int MAX_NAME_LENGTH = 256;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String[] FIELDS = {"player", "difficulty", "reactionMicros", "dispatchDelayMicros", "dateMillis",
+        "rawReactionMicros"};
+    private static final int PLAYER = 0;
+    private static final int DIFFICULTY = 1;
+    private static final int REACTION = 2;
+    private static final int DISPATCH_DELAY = 3;
+    private static final int DATE = 4;
+    private static final int RAW_REACTION = 5;
+
+    // Lê um score por chamada; null no fim do arquivo
+    interface ScoreReader extends Closeable {
+        PlayerScore next() throws IOException;
+    }
+
+    interface ScoreWriter extends Closeable {
+        void write(PlayerScore score) throws IOException;
+    }
+
+    static ScoreFormat forPath(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) return CSV;
+        if (name.endsWith(".json") || name.endsWith(".jsonl")) return JSON;
+        throw new IllegalArgumentException("Formato desconhecido (use .csv ou .json): " + path);
+    }
+
+    ScoreReader openReader(Path path) throws IOException {
+        Input input = new Input(new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8), path);
+        return this == CSV ? new CsvReader(input) : new JsonReader(input);
+    }
+
+    ScoreWriter openWriter(Path path) throws IOException {
+        Writer out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(path), StandardCharsets.UTF_8), BUFFER_SIZE);
+        return this == CSV ? new CsvWriter(out) : new JsonWriter(out);
+    }
+
+    // Texto de entrada com buffer próprio e contagem de linhas para as mensagens de erro
+    private static final class Input implements Closeable {
+        private final Reader reader;
+        private final Path path;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private int position;
+        private int limit;
+        private int line = 1;
+        // Linha onde começou o registro atual, citada nos erros
+        private int recordLine = 1;
+
+        Input(Reader reader, Path path) {
+            this.reader = reader;
+            this.path = path;
+        }
+
+        int peek() throws IOException {
+            if (position == limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position];
+        }
+
+        int read() throws IOException {
+            int c = peek();
+            if (c >= 0) {
+                position++;
+                if (c == '\n') line++;
+            }
+            return c;
+        }
+
+        void startRecord() {
+            recordLine = line;
+        }
+
+        IOException error(String message) {
+            return new IOException(path + ":" + recordLine + ": " + message);
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    // Campos lidos de um registro, reaproveitados de um score para o outro
+    private static final class Fields {
+        final boolean[] present = new boolean[FIELDS.length];
+        final StringBuilder player = new StringBuilder();
+        Difficulty difficulty;
+        final long[] numbers = new long[FIELDS.length];
+
+        void reset() {
+            Arrays.fill(present, false);
+            player.setLength(0);
+            difficulty = null;
+        }
+
+        PlayerScore toScore(Input input) throws IOException {
+            if (!present[PLAYER] || player.length() == 0) throw input.error("registro sem player");
+            if (!present[DIFFICULTY]) throw input.error("registro sem difficulty");
+            if (!present[REACTION]) throw input.error("registro sem reactionMicros");
+            if (player.length() > MAX_NAME_LENGTH) throw input.error("nome com mais de " + MAX_NAME_LENGTH + " caracteres");
+            PlayerScore score = new PlayerScore(player.toString(), numbers[REACTION],
+                present[DISPATCH_DELAY] ? numbers[DISPATCH_DELAY] : 0L, difficulty);
+            if (present[DATE]) score.date = new Date(numbers[DATE]);
+            if (present[RAW_REACTION]) score.rawReactionTimeMicros = numbers[RAW_REACTION];
+            return score;
+        }
+    }
+
+    private static int fieldIndex(CharSequence name) {
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (FIELDS[i].contentEquals(name)) return i;
+        }
+        return -1;
+    }
+
+    // Valor de um campo que não é o nome; números sem sinal cabendo em long
+    private static void parseValue(Fields fields, int field, CharSequence text, Input input) throws IOException {
+        if (field == DIFFICULTY) {
+            for (Difficulty difficulty : Difficulty.values()) {
+                if (difficulty.name().contentEquals(text)) {
+                    fields.difficulty = difficulty;
+                    fields.present[DIFFICULTY] = true;
+                    return;
+                }
+            }
+            throw input.error("dificuldade inválida: " + text);
+        }
+        if (text.length() == 0 || text.length() > 18) throw input.error(FIELDS[field] + " inválido: " + text);
+        long value = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') throw input.error(FIELDS[field] + " inválido: " + text);
+            value = value * 10 + (c - '0');
+        }
+        fields.numbers[field] = value;
+        fields.present[field] = true;
+    }
+
+    private static final class CsvReader implements ScoreReader {
+        private final Input input;
+        private final Fields fields = new Fields();
+        private final StringBuilder value = new StringBuilder();
+        // Campo de cada coluna, -1 para colunas ignoradas
+        private int[] columns;
+
+        CsvReader(Input input) {
+            this.input = input;
+        }
+
+        @Override
+        public PlayerScore next() throws IOException {
+            if (columns == null) readHeader();
+            while (true) {
+                int c = input.peek();
+                if (c < 0) return null;
+                // Linhas em branco entre registros
+                if (c == '\n' || c == '\r') {
+                    input.read();
+                    continue;
+                }
+                input.startRecord();
+                fields.reset();
+                int column = 0;
+                boolean more = true;
+                while (more) {
+                    more = readField();
+                    int field = column < columns.length ? columns[column] : -1;
+                    if (field == PLAYER) {
+                        fields.player.append(value);
+                        fields.present[PLAYER] = true;
+                    } else if (field >= 0) {
+                        parseValue(fields, field, value, input);
+                    }
+                    column++;
+                }
+                return fields.toScore(input);
+            }
+        }
+
+        private void readHeader() throws IOException {
+            // BOM que planilhas costumam gravar
+            if (input.peek() == '\uFEFF') input.read();
+            ArrayList<Integer> header = new ArrayList<>();
+            boolean more = true;
+            while (more) {
+                more = readField();
+                header.add(fieldIndex(value.toString().trim()));
+            }
+            columns = new int[header.size()];
+            boolean[] seen = new boolean[FIELDS.length];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = header.get(i);
+                if (columns[i] >= 0) seen[columns[i]] = true;
+            }
+            if (!seen[PLAYER] || !seen[DIFFICULTY] || !seen[REACTION]) {
+                throw input.error("cabeçalho precisa de player, difficulty e reactionMicros");
+            }
+        }
+
+        // Lê um campo em value; retorna false se ele termina o registro
+        private boolean readField() throws IOException {
+            value.setLength(0);
+            if (input.peek() == '"') {
+                input.read();
+                while (true) {
+                    int c = input.read();
+                    if (c < 0) throw input.error("aspas sem fechamento");
+                    if (c == '"') {
+                        if (input.peek() != '"') break;
+                        input.read();
+                    }
+                    value.append((char) c);
+                }
+            }
+            while (true) {
+                int c = input.read();
+                if (c < 0 || c == '\n') return false;
+                if (c == ',') return true;
+                if (c != '\r') value.append((char) c);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+
+    private static final class JsonReader implements ScoreReader {
+        private final Input input;
+        private final Fields fields = new Fields();
+        private final StringBuilder text = new StringBuilder();
+        private boolean inArray;
+        private boolean started;
+
+        JsonReader(Input input) {
+            this.input = input;
+        }
+
+        @Override
+        public PlayerScore next() throws IOException {
+            int c = skipWhitespace();
+            if (!started) {
+                started = true;
+                if (c == '\uFEFF') {
+                    input.read();
+                    c = skipWhitespace();
+                }
+                if (c == '[') {
+                    inArray = true;
+                    input.read();
+                    c = skipWhitespace();
+                }
+            }
+            if (inArray) {
+                if (c == ',') {
+                    input.read();
+                    c = skipWhitespace();
+                } else if (c == ']') {
+                    input.read();
+                    inArray = false;
+                    return null;
+                }
+            }
+            if (c < 0) {
+                if (inArray) throw input.error("array sem fechamento");
+                return null;
+            }
+            input.startRecord();
+            if (c != '{') throw input.error("esperado um objeto");
+            input.read();
+            fields.reset();
+            c = skipWhitespace();
+            if (c == '}') {
+                input.read();
+            } else {
+                while (true) {
+                    if (skipWhitespace() != '"') throw input.error("esperada uma chave");
+                    readString();
+                    int field = fieldIndex(text);
+                    if (skipWhitespace() != ':') throw input.error("esperado ':'");
+                    input.read();
+                    readValue(field);
+                    c = skipWhitespace();
+                    input.read();
+                    if (c == '}') break;
+                    if (c != ',') throw input.error("esperado ',' ou '}'");
+                }
+            }
+            return fields.toScore(input);
+        }
+
+        private void readValue(int field) throws IOException {
+            int c = skipWhitespace();
+            if (field < 0) {
+                skipValue();
+            } else if (c == '"') {
+                readString();
+                if (field == PLAYER) {
+                    fields.player.setLength(0);
+                    fields.player.append(text);
+                    fields.present[PLAYER] = true;
+                } else {
+                    parseValue(fields, field, text, input);
+                }
+            } else if (field != PLAYER && (c == '-' || (c >= '0' && c <= '9'))) {
+                readNumber();
+                if (text.charAt(0) == '-') throw input.error(FIELDS[field] + " negativo");
+                // Aceita 123.0 de exportadores que gravam tudo como double
+                int dot = text.indexOf(".");
+                if (dot >= 0 && text.chars().skip(dot + 1).allMatch(ch -> ch == '0')) text.setLength(dot);
+                parseValue(fields, field, text, input);
+            } else {
+                // null ou tipo inesperado: campo ausente
+                skipValue();
+            }
+        }
+
+        // Pula um valor qualquer, inclusive objetos e arrays aninhados
+        private void skipValue() throws IOException {
+            int c = skipWhitespace();
+            if (c == '"') {
+                readString();
+            } else if (c == '{' || c == '[') {
+                int depth = 0;
+                do {
+                    c = input.read();
+                    if (c < 0) throw input.error("valor sem fechamento");
+                    if (c == '"') {
+                        readStringBody();
+                    } else if (c == '{' || c == '[') {
+                        depth++;
+                    } else if (c == '}' || c == ']') {
+                        depth--;
+                    }
+                } while (depth > 0);
+            } else {
+                while (c >= 0 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+                    input.read();
+                    c = input.peek();
+                }
+            }
+        }
+
+        private void readNumber() throws IOException {
+            text.setLength(0);
+            int c = input.peek();
+            while (c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E' || (c >= '0' && c <= '9')) {
+                text.append((char) input.read());
+                c = input.peek();
+            }
+        }
+
+        private void readString() throws IOException {
+            input.read();
+            readStringBody();
+        }
+
+        // Conteúdo de uma string já aberta, até as aspas de fechamento, em text
+        private void readStringBody() throws IOException {
+            text.setLength(0);
+            while (true) {
+                int c = input.read();
+                if (c < 0) throw input.error("string sem fechamento");
+                if (c == '"') return;
+                if (c == '\\') {
+                    c = input.read();
+                    switch (c) {
+                        case 'n': c = '\n'; break;
+                        case 't': c = '\t'; break;
+                        case 'r': c = '\r'; break;
+                        case 'b': c = '\b'; break;
+                        case 'f': c = '\f'; break;
+                        case 'u':
+                            int code = 0;
+                            for (int i = 0; i < 4; i++) {
+                                int digit = Character.digit(input.read(), 16);
+                                if (digit < 0) throw input.error("escape \\u inválido");
+                                code = code * 16 + digit;
+                            }
+                            c = code;
+                            break;
+                        case '"': case '\\': case '/': break;
+                        default: throw input.error("escape inválido");
+                    }
+                }
+                text.append((char) c);
+            }
+        }
+
+        private int skipWhitespace() throws IOException {
+            int c = input.peek();
+            while (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                input.read();
+                c = input.peek();
+            }
+            return c;
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+
+    private static final class CsvWriter implements ScoreWriter {
+        private final Writer out;
+
+        CsvWriter(Writer out) throws IOException {
+            this.out = out;
+            out.write(String.join(",", FIELDS));
+            out.write('\n');
+        }
+
+        @Override
+        public void write(PlayerScore score) throws IOException {
+            String name = score.playerName;
+            if (name.indexOf(',') >= 0 || name.indexOf('"') >= 0 || name.indexOf('\n') >= 0 || name.indexOf('\r') >= 0) {
+                out.write('"');
+                out.write(name.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(name);
+            }
+            out.write(',');
+            out.write(score.difficulty.name());
+            out.write(',');
+            out.write(Long.toString(score.reactionTimeMicros));
+            out.write(',');
+            out.write(Long.toString(score.dispatchDelayMicros));
+            out.write(',');
+            out.write(Long.toString(score.date.getTime()));
+            out.write(',');
+            out.write(Long.toString(score.rawReactionTimeMicros));
+            out.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static final class JsonWriter implements ScoreWriter {
+        private final Writer out;
+        private boolean first = true;
+
+        JsonWriter(Writer out) throws IOException {
+            this.out = out;
+            out.write('[');
+        }
+
+        @Override
+        public void write(PlayerScore score) throws IOException {
+            out.write(first ? "\n{\"player\":\"" : ",\n{\"player\":\"");
+            first = false;
+            String name = score.playerName;
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c == '"' || c == '\\') {
+                    out.write('\\');
+                    out.write(c);
+                } else if (c < 0x20) {
+                    out.write(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                } else {
+                    out.write(c);
+                }
+            }
+            out.write("\",\"difficulty\":\"");
+            out.write(score.difficulty.name());
+            out.write("\",\"reactionMicros\":");
+            out.write(Long.toString(score.reactionTimeMicros));
+            out.write(",\"dispatchDelayMicros\":");
+            out.write(Long.toString(score.dispatchDelayMicros));
+            out.write(",\"dateMillis\":");
+            out.write(Long.toString(score.date.getTime()));
+            out.write(",\"rawReactionMicros\":");
+            out.write(Long.toString(score.rawReactionTimeMicros));
+            out.write('}');
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.write(first ? "]\n" : "\n]\n");
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package jogo;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+// Junta os scores exportados por várias estações (CSV ou JSON) num ranking só: um score por
+// jogador (sem diferenciar maiúsculas) e dificuldade, o de menor tempo, como no addToRanking;
+// em empate fica o mais antigo. Ordenação externa com memória limitada: as entradas são lidas
+// em blocos de até --bloco scores, cada bloco ordenado por (jogador, dificuldade, tempo, data),
+// sem repetidos, e gravado num arquivo temporário; depois os blocos são intercalados (k-way,
+// com uma PriorityQueue), em mais de uma passada se passarem de MAX_FAN_IN.
+// Uso: java -cp ivanjogo.jar jogo.ScoreMerge [--bloco=scores] saída.csv|saída.json entradas...
+public class ScoreMerge {
+    // Blocos intercalados de uma vez; cada um ocupa um buffer de leitura
+    private static final int MAX_FAN_IN = 64;
+    private static final int RUN_BUFFER_SIZE = 64 * 1024;
+
+    // Score com a chave de agrupamento já normalizada e os campos da ordenação copiados, para a
+    // comparação não seguir as referências até o PlayerScore e a Date
+    private static final class Entry {
+        final String key;
+        final int difficulty;
+        final long reactionMicros;
+        final long dateMillis;
+        final PlayerScore score;
+
+        Entry(PlayerScore score) {
+            this.key = RankingEngine.normalize(score.playerName);
+            this.difficulty = score.difficulty.ordinal();
+            this.reactionMicros = score.reactionTimeMicros;
+            this.dateMillis = score.date.getTime();
+            this.score = score;
+        }
+    }
+
+    private static final Comparator<Entry> ORDER = (a, b) -> {
+        int byKey = a.key.compareTo(b.key);
+        if (byKey != 0) return byKey;
+        if (a.difficulty != b.difficulty) return a.difficulty - b.difficulty;
+        int byTime = Long.compare(a.reactionMicros, b.reactionMicros);
+        return byTime != 0 ? byTime : Long.compare(a.dateMillis, b.dateMillis);
+    };
+
+    private static boolean sameGroup(Entry a, Entry b) {
+        return a.difficulty == b.difficulty && a.key.equals(b.key);
+    }
+
+    private final int runSize;
+    private final Path tempDirectory;
+    private final ArrayList<Path> runs = new ArrayList<>();
+    private long read;
+    private long written;
+    private int spilled;
+
+    ScoreMerge(int runSize, Path tempDirectory) {
+        this.runSize = runSize;
+        this.tempDirectory = tempDirectory;
+    }
+
+    // Lê todas as entradas e grava o ranking combinado na saída; retorna quantos scores ela tem
+    long merge(List<Path> inputs, Path output) throws IOException {
+        try {
+            Entry[] buffer = new Entry[runSize];
+            int buffered = 0;
+            for (Path input : inputs) {
+                try (ScoreFormat.ScoreReader reader = ScoreFormat.forPath(input).openReader(input)) {
+                    PlayerScore score;
+                    while ((score = reader.next()) != null) {
+                        read++;
+                        buffer[buffered++] = new Entry(score);
+                        if (buffered == runSize) {
+                            spill(buffer, buffered);
+                            buffered = 0;
+                        }
+                    }
+                }
+            }
+            try (ScoreFormat.ScoreWriter writer = ScoreFormat.forPath(output).openWriter(output)) {
+                // Tudo coube num bloco: vai direto para a saída
+                if (runs.isEmpty()) {
+                    Arrays.sort(buffer, 0, buffered, ORDER);
+                    Entry last = null;
+                    for (int i = 0; i < buffered; i++) {
+                        if (last != null && sameGroup(last, buffer[i])) continue;
+                        last = buffer[i];
+                        writer.write(last.score);
+                        written++;
+                    }
+                    return written;
+                }
+                if (buffered > 0) spill(buffer, buffered);
+                buffer = null;
+                while (runs.size() > MAX_FAN_IN) {
+                    ArrayList<Path> group = new ArrayList<>(runs.subList(0, MAX_FAN_IN));
+                    runs.subList(0, MAX_FAN_IN).clear();
+                    Path merged = Files.createTempFile(tempDirectory, "run-", ".bin");
+                    runs.add(merged);
+                    try (RunWriter out = new RunWriter(merged)) {
+                        mergeRuns(group, out::write);
+                    }
+                }
+                mergeRuns(runs, score -> {
+                    writer.write(score);
+                    written++;
+                });
+                return written;
+            }
+        } finally {
+            for (Path run : runs) Files.deleteIfExists(run);
+        }
+    }
+
+    long getRead() {
+        return read;
+    }
+
+    // Blocos gravados em disco na primeira passada (0 se tudo coube na memória)
+    int getSpilledRuns() {
+        return spilled;
+    }
+
+    private interface Sink {
+        void accept(PlayerScore score) throws IOException;
+    }
+
+    private void spill(Entry[] buffer, int count) throws IOException {
+        Arrays.sort(buffer, 0, count, ORDER);
+        Path run = Files.createTempFile(tempDirectory, "run-", ".bin");
+        runs.add(run);
+        spilled++;
+        try (RunWriter out = new RunWriter(run)) {
+            Entry last = null;
+            for (int i = 0; i < count; i++) {
+                if (last == null || !sameGroup(last, buffer[i])) {
+                    last = buffer[i];
+                    out.write(last.score);
+                }
+                buffer[i] = null;
+            }
+        }
+    }
+
+    // Intercala os blocos, já ordenados, mantendo o primeiro (melhor) score de cada grupo;
+    // os arquivos dos blocos são apagados no fim
+    private static void mergeRuns(List<Path> group, Sink sink) throws IOException {
+        PriorityQueue<RunReader> heads = new PriorityQueue<>(group.size(), (a, b) -> ORDER.compare(a.head, b.head));
+        ArrayList<RunReader> readers = new ArrayList<>(group.size());
+        try {
+            for (Path run : group) {
+                RunReader reader = new RunReader(run);
+                readers.add(reader);
+                if (reader.advance()) heads.add(reader);
+            }
+            Entry last = null;
+            while (!heads.isEmpty()) {
+                RunReader reader = heads.poll();
+                Entry entry = reader.head;
+                if (last == null || !sameGroup(last, entry)) {
+                    last = entry;
+                    sink.accept(entry.score);
+                }
+                if (reader.advance()) heads.add(reader);
+            }
+        } finally {
+            for (RunReader reader : readers) reader.close();
+            for (Path run : group) Files.deleteIfExists(run);
+        }
+    }
+
+    // Bloco temporário: [short tamanho][nome em UTF-8][byte dificuldade][long tempo][long atraso do EDT][long data]
+    // [long tempo bruto]
+    private static final int RUN_FIXED_SIZE = 2 + 1 + 8 + 8 + 8 + 8;
+
+    private static final class RunWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(RUN_BUFFER_SIZE);
+
+        RunWriter(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        void write(PlayerScore score) throws IOException {
+            byte[] name = score.playerName.getBytes(StandardCharsets.UTF_8);
+            if (buffer.remaining() < RUN_FIXED_SIZE + name.length) flush();
+            buffer.putShort((short) name.length);
+            buffer.put(name);
+            buffer.put((byte) score.difficulty.ordinal());
+            buffer.putLong(score.reactionTimeMicros);
+            buffer.putLong(score.dispatchDelayMicros);
+            buffer.putLong(score.date.getTime());
+            buffer.putLong(score.rawReactionTimeMicros);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private static final class RunReader implements Closeable {
+        private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(RUN_BUFFER_SIZE);
+        Entry head;
+
+        RunReader(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            buffer.flip();
+        }
+
+        boolean advance() throws IOException {
+            if (!fill(2)) {
+                head = null;
+                return false;
+            }
+            int nameLength = buffer.getShort(buffer.position()) & 0xFFFF;
+            if (!fill(RUN_FIXED_SIZE + nameLength)) throw new EOFException("Bloco temporário truncado");
+            buffer.getShort();
+            String name = new String(buffer.array(), buffer.position(), nameLength, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + nameLength);
+            Difficulty difficulty = DIFFICULTIES[buffer.get()];
+            PlayerScore score = new PlayerScore(name, buffer.getLong(), buffer.getLong(), difficulty);
+            score.date = new Date(buffer.getLong());
+            score.rawReactionTimeMicros = buffer.getLong();
+            head = new Entry(score);
+            return true;
+        }
+
+        // Garante bytes no buffer; false se o arquivo acabou antes
+        private boolean fill(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) return true;
+            buffer.compact();
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) break;
+            }
+            buffer.flip();
+            return buffer.remaining() >= bytes;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    // Tamanho de bloco que usa cerca de um quarto do heap (um score ocupa uns 200 bytes)
+    static int defaultRunSize() {
+        long scores = Runtime.getRuntime().maxMemory() / 4 / 200;
+        return (int) Math.max(10_000L, Math.min(4_000_000L, scores));
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runSize = defaultRunSize();
+        ArrayList<Path> paths = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--bloco=")) {
+                runSize = Integer.parseInt(arg.substring("--bloco=".length()));
+            } else {
+                paths.add(Paths.get(arg));
+            }
+        }
+        if (paths.size() < 2) {
+            System.err.println("Uso: java -cp ivanjogo.jar jogo.ScoreMerge [--bloco=scores] saída.csv|saída.json entradas...");
+            System.exit(2);
+        }
+        Path output = paths.remove(0);
+
+        long start = System.nanoTime();
+        Path temp = Files.createTempDirectory("ivanjogo-merge");
+        ScoreMerge merge = new ScoreMerge(runSize, temp);
+        long written;
+        try {
+            written = merge.merge(paths, output);
+        } catch (IOException | IllegalArgumentException e) {
+            // Erro de formato com arquivo e linha, sem a pilha
+            System.err.println("Falha na junção: " + e.getMessage());
+            written = -1;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        if (written < 0) System.exit(1);
+        System.out.printf(Locale.ROOT, "%d scores lidos de %d arquivos, %d no ranking combinado (%s), %d blocos, %.2f s%n",
+            merge.getRead(), paths.size(), written, output, merge.getSpilledRuns(), (System.nanoTime() - start) / 1e9);
+    }
+}
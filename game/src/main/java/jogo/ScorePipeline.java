@@ -0,0 +1,201 @@
+package jogo;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Efeitos de um score fora do caminho da tecla: o EDT só publica o evento numa fila limitada
+// (custo fixo, qualquer que seja o número de assinantes) e uma thread de despacho o repassa
+// à fila limitada de cada assinante, que o consome na sua própria thread (virtual quando a
+// JVM tem). Assinante lento enche a própria fila, segura o despacho e, com a entrada cheia,
+// o jogo deixa de iniciar rodadas até a fila baixar (saturated). Cada assinante recebe os
+// eventos na ordem de publicação
+final class ScorePipeline {
+    // Tipos de evento, combináveis
+    static final int ROUND = 1;     // score de uma rodada jogada aqui (estatísticas da estação)
+    static final int PERSIST = 2;   // armazenamento de scores
+    static final int SHARE = 4;     // ranking dividido entre as estações e torneio
+    static final int CLEAR = 8;     // limpeza do ranking, sem score
+
+    static final int CAPACITY = 1024;
+
+    interface Subscriber {
+        void accept(PlayerScore score, int kind) throws Exception;
+    }
+
+    private static final class Event {
+        final PlayerScore score;
+        final int kind;
+
+        Event(PlayerScore score, int kind) {
+            this.score = score;
+            this.kind = kind;
+        }
+    }
+
+    private final class Consumer {
+        final String name;
+        final int kinds;
+        final Subscriber subscriber;
+        final ArrayBlockingQueue<Event> queue = new ArrayBlockingQueue<>(CAPACITY);
+
+        Consumer(String name, int kinds, Subscriber subscriber) {
+            this.name = name;
+            this.kinds = kinds;
+            this.subscriber = subscriber;
+        }
+
+        void run() {
+            while (true) {
+                Event event;
+                try {
+                    event = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                try {
+                    subscriber.accept(event.score, event.kind);
+                } catch (InterruptedException e) {
+                    return;
+                } catch (Exception e) {
+                    // Um evento perdido num assinante não para os outros nem os próximos
+                    System.err.println("Falha no assinante de scores " + name + ": " + e);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    private final String name;
+    private final ArrayBlockingQueue<Event> intake = new ArrayBlockingQueue<>(CAPACITY);
+    // Eventos do EDT com a entrada cheia, na ordem; o despacho os devolve à entrada. Não cresce
+    // muito: com a entrada cheia nenhuma rodada nova começa
+    private final ArrayDeque<Event> overflow = new ArrayDeque<>();
+    private final CopyOnWriteArrayList<Consumer> consumers = new CopyOnWriteArrayList<>();
+    // Publicados e ainda não terminados: na entrada, no despacho ou na fila de um assinante
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong overflowed = new AtomicLong();
+
+    ScorePipeline(String name) {
+        this.name = name;
+        newThread(name + "-despacho", this::dispatch).start();
+    }
+
+    void subscribe(String subscriberName, int kinds, Subscriber subscriber) {
+        Consumer consumer = new Consumer(subscriberName, kinds, subscriber);
+        consumers.add(consumer);
+        newThread(name + "-" + subscriberName, consumer::run).start();
+    }
+
+    // Do EDT: nunca bloqueia
+    void publish(PlayerScore score, int kind) {
+        Event event = new Event(score, kind);
+        pending.incrementAndGet();
+        synchronized (overflow) {
+            // Com eventos já transbordados, este vai atrás deles para manter a ordem
+            if (overflow.isEmpty() && intake.offer(event)) return;
+            overflow.add(event);
+        }
+        overflowed.incrementAndGet();
+    }
+
+    // Fora do EDT (importação): espera vaga na entrada, e quem publica anda no ritmo dos assinantes
+    void publishBlocking(PlayerScore score, int kind) throws InterruptedException {
+        Event event = new Event(score, kind);
+        pending.incrementAndGet();
+        while (true) {
+            synchronized (overflow) {
+                if (overflow.isEmpty() && intake.offer(event)) return;
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    // Entrada cheia: o EDT não deve começar rodadas novas
+    boolean saturated() {
+        return intake.remainingCapacity() == 0;
+    }
+
+    long getPending() {
+        return pending.get();
+    }
+
+    long getOverflowed() {
+        return overflowed.get();
+    }
+
+    // Espera os eventos já publicados chegarem a todos os assinantes (fechamento); false se o
+    // tempo acabou antes
+    boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (pending.get() > 0) {
+            if (System.nanoTime() > deadline) return false;
+            Thread.sleep(2);
+        }
+        return true;
+    }
+
+    private void dispatch() {
+        try {
+            while (true) {
+                Event event = intake.take();
+                refill();
+                for (Consumer consumer : consumers) {
+                    if ((consumer.kinds & event.kind) == 0) continue;
+                    pending.incrementAndGet();
+                    consumer.queue.put(event);
+                }
+                pending.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            // Fim da JVM
+        }
+    }
+
+    private void refill() {
+        synchronized (overflow) {
+            while (!overflow.isEmpty() && intake.offer(overflow.peek())) overflow.poll();
+        }
+    }
+
+    // Threads virtuais no Java 21+; o build mira o Java 17, então o construtor é procurado por
+    // reflexão e, sem ele, as threads são de plataforma (daemon, como as virtuais)
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_UNSTARTED;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderUnstarted = null;
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            builderName = builder.getMethod("name", String.class);
+            builderUnstarted = builder.getMethod("unstarted", Runnable.class);
+        } catch (ReflectiveOperationException e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_UNSTARTED = builderUnstarted;
+    }
+
+    static Thread newThread(String name, Runnable task) {
+        if (OF_VIRTUAL != null) {
+            try {
+                Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), name);
+                return (Thread) BUILDER_UNSTARTED.invoke(builder, task);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // Prévia desabilitada (Java 19 e 20): threads de plataforma
+            }
+        }
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
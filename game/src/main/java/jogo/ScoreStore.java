@@ -0,0 +1,427 @@
+package jogo;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+// Armazenamento persistente dos scores: log binário append-only mapeado em memória,
+// registros com CRC32, snapshot com compactação periódica e recuperação na inicialização.
+// As gravações são feitas por uma thread própria com group commit, nunca pelo EDT; a fila dela
+// é limitada e quem grava espera quando ela enche, no ritmo do disco.
+class ScoreStore implements Closeable {
+    // Formato do registro: [int tamanho do payload][byte tipo][payload][int crc32 de tipo+payload]
+    private static final byte TYPE_SCORE = 1;
+    private static final byte TYPE_CLEAR = 2;
+    // Época do log: no início de cada log e no fim do snapshot (época absorvida)
+    private static final byte TYPE_EPOCH = 3;
+    private static final int HEADER_SIZE = 5;
+    private static final int CRC_SIZE = 4;
+    private static final int MAX_PAYLOAD = 1024;
+
+    // O log cresce em blocos mapeados deste tamanho
+    private static final int MAP_CHUNK = 4 * 1024 * 1024;
+    // Compactar quando o log tiver esta quantidade de registros
+    private static final int COMPACT_THRESHOLD = 100_000;
+    private static final int MAX_BATCH = 4096;
+    private static final int QUEUE_CAPACITY = 8192;
+
+    // Recebe os registros lidos de um arquivo
+    private interface RecordSink {
+        void onScore(PlayerScore score) throws IOException;
+        void onClear() throws IOException;
+        void onEpoch(long epoch);
+    }
+
+    private final Path directory;
+    private final Path logPath;
+    private final Path snapshotPath;
+
+    private FileChannel logChannel;
+    private MappedByteBuffer logBuffer;
+    private long logEnd;
+    private long logEpoch;
+    private int logRecords;
+
+    private final ArrayBlockingQueue<PlayerScore> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    // Marcadores de limpeza e de encerramento na fila do writer
+    private final PlayerScore clearMarker = new PlayerScore("", 0, 0, Difficulty.MÉDIO);
+    private final PlayerScore closeMarker = new PlayerScore("", 0, 0, Difficulty.MÉDIO);
+    private final Thread writer;
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private final CRC32 crc = new CRC32();
+    private final ByteBuffer recordBuffer = ByteBuffer.allocate(HEADER_SIZE + MAX_PAYLOAD + CRC_SIZE);
+    private volatile boolean closing;
+    // O writer parou sem o pedido de encerramento (erro de E/S, de codificação ou da JVM): nada
+    // mais é enfileirado, e a fila é descartada
+    private volatile boolean failed;
+
+    private ScoreStore(Path directory) {
+        this.directory = directory;
+        this.logPath = directory.resolve("scores.log");
+        this.snapshotPath = directory.resolve("scores.snapshot");
+        this.writer = new Thread(this::writeLoop, "score-store-writer");
+        this.writer.setDaemon(true);
+    }
+
+    static Path defaultDirectory() {
+        String configured = System.getProperty("ivanjogo.dataDir");
+        return configured != null ? Paths.get(configured) : Paths.get(System.getProperty("user.home"), ".ivanjogo");
+    }
+
+    // Abre o armazenamento, entrega todos os scores recuperados (snapshot + log) e inicia o writer
+    static ScoreStore open(Path directory, Consumer<PlayerScore> recovered) throws IOException {
+        Files.createDirectories(directory);
+        ScoreStore store = new ScoreStore(directory);
+
+        ArrayList<PlayerScore> scores = new ArrayList<>();
+        long[] epochs = new long[1];
+        readRecords(store.snapshotPath, listSink(scores, epochs));
+        long snapshotEpoch = epochs[0];
+
+        // Um log com época já absorvida pelo snapshot sobrou de uma compactação interrompida
+        ArrayList<PlayerScore> logScores = new ArrayList<>();
+        boolean[] logCleared = new boolean[1];
+        epochs[0] = -1;
+        long validEnd = readRecords(store.logPath, new RecordSink() {
+            @Override
+            public void onScore(PlayerScore score) {
+                logScores.add(score);
+            }
+
+            @Override
+            public void onClear() {
+                logScores.clear();
+                logCleared[0] = true;
+            }
+
+            @Override
+            public void onEpoch(long epoch) {
+                epochs[0] = epoch;
+            }
+        });
+        boolean staleLog = epochs[0] >= 0 && epochs[0] <= snapshotEpoch;
+        if (!staleLog) {
+            if (logCleared[0]) scores.clear();
+            scores.addAll(logScores);
+        }
+        for (PlayerScore score : scores) {
+            recovered.accept(score);
+        }
+
+        if (staleLog || epochs[0] < 0) {
+            Files.deleteIfExists(store.logPath);
+            store.openLog(0, snapshotEpoch + 1);
+        } else {
+            store.openLog(validEnd, epochs[0]);
+        }
+        store.writer.start();
+        return store;
+    }
+
+    private static RecordSink listSink(List<PlayerScore> scores, long[] epoch) {
+        return new RecordSink() {
+            @Override
+            public void onScore(PlayerScore score) {
+                scores.add(score);
+            }
+
+            @Override
+            public void onClear() {
+                scores.clear();
+            }
+
+            @Override
+            public void onEpoch(long value) {
+                epoch[0] = value;
+            }
+        };
+    }
+
+    // Lê os registros íntegros de um arquivo e retorna a posição logo após o último deles
+    private static long readRecords(Path path, RecordSink sink) throws IOException {
+        if (!Files.exists(path)) return 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) return 0;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32 crc = new CRC32();
+            int position = 0;
+            while (position + HEADER_SIZE + CRC_SIZE <= size) {
+                int length = buffer.getInt(position);
+                // Tamanho zero marca o fim da área pré-alocada; tamanho inválido, registro corrompido
+                if (length <= 0 || length > MAX_PAYLOAD || position + HEADER_SIZE + length + CRC_SIZE > size) break;
+
+                crc.reset();
+                ByteBuffer body = buffer.duplicate();
+                body.position(position + 4).limit(position + HEADER_SIZE + length);
+                crc.update(body);
+                if ((int) crc.getValue() != buffer.getInt(position + HEADER_SIZE + length)) break;
+
+                body.position(position + HEADER_SIZE);
+                byte type = buffer.get(position + 4);
+                if (type == TYPE_SCORE) {
+                    sink.onScore(decodeScore(body));
+                } else if (type == TYPE_CLEAR) {
+                    sink.onClear();
+                } else if (type == TYPE_EPOCH) {
+                    sink.onEpoch(body.getLong());
+                } else {
+                    break;
+                }
+                position += HEADER_SIZE + length + CRC_SIZE;
+            }
+            return position;
+        }
+    }
+
+    private static PlayerScore decodeScore(ByteBuffer body) {
+        long reactionMicros = body.getLong();
+        long dispatchDelayMicros = body.getLong();
+        long dateMillis = body.getLong();
+        Difficulty difficulty = Difficulty.values()[body.get()];
+        byte[] name = new byte[body.getShort()];
+        body.get(name);
+        PlayerScore score = new PlayerScore(new String(name, StandardCharsets.UTF_8), reactionMicros, dispatchDelayMicros, difficulty);
+        score.date = new Date(dateMillis);
+        // Registros anteriores à calibração de tela terminam no nome
+        if (body.remaining() >= 8) score.rawReactionTimeMicros = body.getLong();
+        return score;
+    }
+
+    private void openLog(long validEnd, long epoch) throws IOException {
+        logChannel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // Descartar um final parcial deixado por uma queda
+        if (logChannel.size() > validEnd) {
+            logChannel.truncate(validEnd);
+        }
+        logEnd = validEnd;
+        logEpoch = epoch;
+        logRecords = 0;
+        logBuffer = logChannel.map(FileChannel.MapMode.READ_WRITE, logEnd, MAP_CHUNK);
+        if (validEnd == 0) {
+            encodeRecord(TYPE_EPOCH, null, epoch);
+            appendToLog();
+            logBuffer.force();
+        }
+    }
+
+    // Enfileira um score para gravação; com a fila cheia espera o writer. Nunca chamado do EDT
+    // (assinante do pipeline, simulação, servidor). Com o nome no limite do ScoreFormat o
+    // registro sempre cabe em MAX_PAYLOAD (3 bytes UTF-8 por caractere, no máximo)
+    void append(PlayerScore score) throws InterruptedIOException {
+        if (score.playerName.length() > ScoreFormat.MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Nome com mais de " + ScoreFormat.MAX_NAME_LENGTH + " caracteres");
+        }
+        enqueue(score);
+    }
+
+    // Registra a limpeza do ranking; os scores anteriores são arquivados na próxima compactação
+    void appendClear() throws InterruptedIOException {
+        enqueue(clearMarker);
+    }
+
+    // Um writer que morre esvazia a fila ao sair, o que libera quem estiver esperando vaga
+    private void enqueue(PlayerScore score) throws InterruptedIOException {
+        if (closing || failed) return;
+        try {
+            queue.put(score);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Gravação do score interrompida");
+        }
+    }
+
+    int getQueueDepth() {
+        return queue.size();
+    }
+
+    boolean isFailed() {
+        return failed;
+    }
+
+    private void writeLoop() {
+        ArrayList<PlayerScore> batch = new ArrayList<>(MAX_BATCH);
+        boolean running = true;
+        Throwable failure = null;
+        try {
+            while (running) {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH - 1);
+                for (PlayerScore score : batch) {
+                    if (score == closeMarker) {
+                        running = false;
+                        continue;
+                    }
+                    // Um registro que não codifica é perdido sozinho; o writer segue
+                    try {
+                        encodeRecord(score == clearMarker ? TYPE_CLEAR : TYPE_SCORE, score, 0);
+                    } catch (RuntimeException e) {
+                        System.err.println("Score descartado (" + score.playerName + "): " + e);
+                        continue;
+                    }
+                    appendToLog();
+                }
+                // Group commit: um único force para todo o lote
+                logBuffer.force();
+                batch.clear();
+
+                // A compactação relê o histórico inteiro nesta thread, em memória constante;
+                // enquanto isso os scores esperam na fila (quem grava espera se ela encher)
+                if (logRecords >= COMPACT_THRESHOLD) {
+                    long start = System.nanoTime();
+                    compact();
+                    long millis = (System.nanoTime() - start) / 1_000_000L;
+                    if (millis >= 100) System.err.println("Compactação dos scores: " + millis + " ms, " + queue.size() + " na fila");
+                }
+            }
+        } catch (InterruptedException e) {
+            failure = e;
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            // Também os Error (falta de memória): sem isto o writer morreria sem marcar a falha
+            failure = e;
+        } finally {
+            // Sem o marcador de encerramento, o writer morreu: o armazenamento fica desativado
+            if (running) {
+                failed = true;
+                System.err.println("Falha ao gravar scores; o armazenamento foi desativado: " + failure);
+            }
+            queue.clear();
+            closed.countDown();
+        }
+    }
+
+    // Monta um registro em recordBuffer, pronto para leitura
+    private void encodeRecord(byte type, PlayerScore score, long epoch) {
+        ByteBuffer record = recordBuffer;
+        record.clear();
+        record.position(HEADER_SIZE);
+        if (type == TYPE_SCORE) {
+            byte[] name = score.playerName.getBytes(StandardCharsets.UTF_8);
+            record.putLong(score.reactionTimeMicros);
+            record.putLong(score.dispatchDelayMicros);
+            record.putLong(score.date.getTime());
+            record.put((byte) score.difficulty.ordinal());
+            record.putShort((short) name.length);
+            record.put(name);
+            record.putLong(score.rawReactionTimeMicros);
+        } else if (type == TYPE_EPOCH) {
+            record.putLong(epoch);
+        } else {
+            // O CLEAR não tem payload; um byte de preenchimento mantém o tamanho positivo
+            record.put((byte) 0);
+        }
+        int length = record.position() - HEADER_SIZE;
+        record.putInt(0, length);
+        record.put(4, type);
+
+        crc.reset();
+        ByteBuffer body = record.duplicate();
+        body.position(4).limit(HEADER_SIZE + length);
+        crc.update(body);
+        record.putInt((int) crc.getValue());
+        record.flip();
+    }
+
+    private void appendToLog() throws IOException {
+        int size = recordBuffer.remaining();
+        if (logBuffer.remaining() < size) {
+            logBuffer.force();
+            logBuffer = logChannel.map(FileChannel.MapMode.READ_WRITE, logEnd, MAP_CHUNK);
+        }
+        logBuffer.put(recordBuffer);
+        logEnd += size;
+        logRecords++;
+    }
+
+    // Junta snapshot e log num novo snapshot e reinicia o log, registro a registro, sem guardar
+    // o histórico em memória. O arquivo temporário tem os scores desde o último CLEAR; num
+    // CLEAR, o que ele tem até ali vai para um arquivo de backup em vez de ser perdido
+    private void compact() throws IOException {
+        Path tmp = directory.resolve("scores.snapshot.tmp");
+        Path backup = directory.resolve("scores-cleared-" + System.currentTimeMillis() + ".bak");
+        ByteBuffer out = ByteBuffer.allocateDirect(256 * 1024);
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            RecordSink sink = new RecordSink() {
+                @Override
+                public void onScore(PlayerScore score) throws IOException {
+                    encodeRecord(TYPE_SCORE, score, 0);
+                    flushIfFull(channel, out);
+                    out.put(recordBuffer);
+                }
+
+                @Override
+                public void onClear() throws IOException {
+                    flush(channel, out);
+                    if (channel.size() == 0) return;
+                    try (FileChannel cleared = FileChannel.open(backup, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                            StandardOpenOption.APPEND)) {
+                        long size = channel.size();
+                        for (long position = 0; position < size; ) {
+                            position += channel.transferTo(position, size - position, cleared);
+                        }
+                        cleared.force(true);
+                    }
+                    channel.truncate(0);
+                    channel.position(0);
+                }
+
+                @Override
+                public void onEpoch(long epoch) {
+                }
+            };
+            readRecords(snapshotPath, sink);
+            readRecords(logPath, sink);
+
+            encodeRecord(TYPE_EPOCH, null, logEpoch);
+            flushIfFull(channel, out);
+            out.put(recordBuffer);
+            flush(channel, out);
+            channel.force(true);
+        }
+        Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        // O snapshot já absorveu esta época; se cair aqui, o log antigo é ignorado na recuperação
+        logChannel.close();
+        logBuffer = null;
+        Files.delete(logPath);
+        openLog(0, logEpoch + 1);
+    }
+
+    private void flushIfFull(FileChannel channel, ByteBuffer out) throws IOException {
+        if (out.remaining() < recordBuffer.remaining()) flush(channel, out);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) channel.write(out);
+        out.clear();
+    }
+
+    // Grava tudo o que estiver na fila e encerra o writer
+    @Override
+    public void close() throws IOException {
+        if (closing) return;
+        closing = true;
+        boolean stopped = false;
+        try {
+            // Com o writer morto não há quem leia o marcador, mas a fila já foi esvaziada
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            if (queue.offer(closeMarker, 5, TimeUnit.SECONDS)) {
+                stopped = closed.await(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Com o writer ainda gravando, o canal fica aberto; o que já foi gravado está no log
+        if (!stopped) throw new IOException("O writer dos scores não terminou em 5 s");
+        logChannel.close();
+    }
+}
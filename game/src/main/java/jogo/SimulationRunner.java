@@ -0,0 +1,222 @@
+package jogo;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.random.RandomGenerator;
+
+// Simulação sem interface: joga rodadas sintéticas no GameEngine em todos os núcleos,
+// com jogadores cujo tempo de reação segue uma distribuição ex-gaussiana.
+// Uso: java SimulationRunner [rodadas] [threads] [jogadores] [diretório para persistir]
+public class SimulationRunner {
+    // Maior timeout entre as dificuldades, em ms; limite do histograma
+    private static final int MAX_MILLIS = 5000;
+    // O histórico do RankingEngine não tem limite; cada worker recomeça o seu a cada tantas rodadas
+    private static final int RANKING_RESET_ROUNDS = 200_000;
+
+    // Jogador simulado: normal(mu, sigma) + exponencial(tau), em microssegundos
+    static class SimulatedPlayer {
+        final String name;
+        final double muMicros;
+        final double sigmaMicros;
+        final double tauMicros;
+        final double wrongKeyProbability;
+
+        SimulatedPlayer(String name, double muMicros, double sigmaMicros, double tauMicros, double wrongKeyProbability) {
+            this.name = name;
+            this.muMicros = muMicros;
+            this.sigmaMicros = sigmaMicros;
+            this.tauMicros = tauMicros;
+            this.wrongKeyProbability = wrongKeyProbability;
+        }
+
+        long sampleReactionMicros(RandomGenerator random) {
+            double sample = muMicros + sigmaMicros * random.nextGaussian() + tauMicros * random.nextExponential();
+            // Abaixo de ~100 ms seria antecipação, não reação
+            return Math.max(100_000L, (long) sample);
+        }
+
+        static SimulatedPlayer random(String name, RandomGenerator random) {
+            double mu = 230_000 + 40_000 * random.nextGaussian();
+            double sigma = 20_000 + 15_000 * random.nextDouble();
+            double tau = 30_000 + 120_000 * random.nextDouble();
+            return new SimulatedPlayer(name, Math.max(150_000, mu), sigma, tau, 0.02 + 0.08 * random.nextDouble());
+        }
+    }
+
+    // Estatísticas de um worker por dificuldade; somadas no final
+    static class Stats {
+        final long[] rounds = new long[Difficulty.values().length];
+        final long[] timeouts = new long[Difficulty.values().length];
+        final long[] overMaxTime = new long[Difficulty.values().length];
+        final long[] wrongKeys = new long[Difficulty.values().length];
+        final long[] personalBests = new long[Difficulty.values().length];
+        final long[] sumMicros = new long[Difficulty.values().length];
+        // Histograma de tempos de acerto com resolução de 1 ms
+        final long[][] histogram = new long[Difficulty.values().length][MAX_MILLIS + 1];
+
+        void merge(Stats other) {
+            for (int d = 0; d < rounds.length; d++) {
+                rounds[d] += other.rounds[d];
+                timeouts[d] += other.timeouts[d];
+                overMaxTime[d] += other.overMaxTime[d];
+                wrongKeys[d] += other.wrongKeys[d];
+                personalBests[d] += other.personalBests[d];
+                sumMicros[d] += other.sumMicros[d];
+                for (int i = 0; i <= MAX_MILLIS; i++) {
+                    histogram[d][i] += other.histogram[d][i];
+                }
+            }
+        }
+
+        long percentileMillis(int d, double percentile) {
+            long hits = rounds[d] - timeouts[d];
+            long target = (long) Math.ceil(hits * percentile);
+            long seen = 0;
+            for (int i = 0; i <= MAX_MILLIS; i++) {
+                seen += histogram[d][i];
+                if (seen >= target && seen > 0) return i;
+            }
+            return MAX_MILLIS;
+        }
+    }
+
+    // Relógio virtual de um worker: o tempo só anda quando a simulação manda
+    static class SimulatedClock implements Clock {
+        long now;
+
+        @Override
+        public long nanoTime() {
+            return now;
+        }
+    }
+
+    static Stats runWorker(long rounds, List<SimulatedPlayer> players, long seed, ScoreStore store) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        SimulatedClock clock = new SimulatedClock();
+        RankingEngine ranking = new RankingEngine();
+        GameEngine engine = new GameEngine(clock, random, ranking);
+        Stats stats = new Stats();
+        Difficulty[] difficulties = Difficulty.values();
+
+        for (long round = 0; round < rounds; round++) {
+            if (round > 0 && round % RANKING_RESET_ROUNDS == 0) {
+                ranking.clear();
+            }
+            SimulatedPlayer player = players.get(random.nextInt(players.size()));
+            Difficulty difficulty = difficulties[random.nextInt(difficulties.length)];
+            int d = difficulty.ordinal();
+            stats.rounds[d]++;
+
+            int delayMillis = engine.prepareRound(player.name, difficulty);
+            clock.now += delayMillis * 1_000_000L;
+            engine.drawTargetKey();
+            int targetIndex = engine.getTargetIndex();
+            engine.startStimulus(clock.now);
+            long onset = clock.now;
+
+            long reactionMicros = player.sampleReactionMicros(random);
+            if (random.nextDouble() < player.wrongKeyProbability) {
+                int wrongIndex = random.nextInt(GameEngine.AVAILABLE_KEYS.length);
+                if (wrongIndex != targetIndex) {
+                    engine.keyPressed(wrongIndex, onset + reactionMicros * 500L, 0L);
+                }
+            }
+
+            if (reactionMicros >= difficulty.timeout * 1000L) {
+                clock.now = onset + difficulty.timeout * 1_000_000L;
+                stats.wrongKeys[d] += engine.getWrongKeys();
+                engine.timeout();
+                stats.timeouts[d]++;
+                continue;
+            }
+
+            clock.now = onset + reactionMicros * 1000L;
+            // Atraso de entrega do EDT sintético, de 0 a 2 ms
+            long dispatchDelayMicros = random.nextInt(2000);
+            RoundResult result = engine.keyPressed(targetIndex, clock.now, dispatchDelayMicros);
+            long micros = result.score.reactionTimeMicros;
+            stats.sumMicros[d] += micros;
+            stats.histogram[d][(int) Math.min(MAX_MILLIS, micros / 1000L)]++;
+            stats.wrongKeys[d] += result.wrongKeys;
+            if (result.personalBest) stats.personalBests[d]++;
+            if (engine.isOverMaxTime(micros / 1000L)) stats.overMaxTime[d]++;
+            if (store != null) store.append(result.score);
+        }
+        return stats;
+    }
+
+    public static void main(String[] args) throws Exception {
+        long totalRounds = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000L;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int playerCount = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        ScoreStore store = args.length > 3 ? ScoreStore.open(Paths.get(args[3]), score -> { }) : null;
+
+        SplittableRandom seeds = new SplittableRandom(42);
+        ArrayList<SimulatedPlayer> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            players.add(SimulatedPlayer.random("Jogador" + i, seeds));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        // Resultados na ordem em que os workers terminam: a primeira falha aparece logo
+        CompletionService<Stats> workers = new ExecutorCompletionService<>(executor);
+        long start = System.nanoTime();
+        long elapsedNanos = 0L;
+        Stats total = new Stats();
+        boolean completed = false;
+        try {
+            for (int t = 0; t < threads; t++) {
+                long rounds = totalRounds / threads + (t < totalRounds % threads ? 1 : 0);
+                long seed = seeds.nextLong();
+                workers.submit(() -> runWorker(rounds, players, seed, store));
+            }
+            for (int t = 0; t < threads; t++) {
+                total.merge(workers.take().get());
+            }
+            elapsedNanos = System.nanoTime() - start;
+            completed = true;
+        } catch (ExecutionException e) {
+            System.err.println("Falha na simulação: " + e.getCause());
+        } finally {
+            // Com uma falha, os outros workers são interrompidos; as threads do pool não são daemon
+            if (completed) executor.shutdown();
+            else executor.shutdownNow();
+            if (store != null) {
+                try {
+                    store.close();
+                } catch (IOException e) {
+                    System.err.println("Falha ao fechar o armazenamento: " + e.getMessage());
+                    completed = false;
+                }
+                if (store.isFailed()) {
+                    System.err.println("O armazenamento falhou durante a simulação");
+                    completed = false;
+                }
+            }
+        }
+        if (!completed) System.exit(1);
+
+        System.out.printf(Locale.ROOT, "%d rodadas em %.2f s com %d threads (%.0f rodadas/s)%n",
+            totalRounds, elapsedNanos / 1e9, threads, totalRounds / (elapsedNanos / 1e9));
+        for (Difficulty difficulty : Difficulty.values()) {
+            printDifficulty(total, difficulty);
+        }
+    }
+
+    private static void printDifficulty(Stats stats, Difficulty difficulty) {
+        int d = difficulty.ordinal();
+        long rounds = stats.rounds[d];
+        if (rounds == 0) return;
+        long hits = rounds - stats.timeouts[d];
+        System.out.printf(Locale.ROOT, "%n%s (maxTime=%d ms, timeout=%d ms)%n", difficulty.displayName, difficulty.maxTime, difficulty.timeout);
+        System.out.printf(Locale.ROOT, "  rodadas: %d  timeouts: %.3f%%  acima do maxTime: %.3f%%  teclas erradas/rodada: %.4f%n",
+            rounds, 100.0 * stats.timeouts[d] / rounds, 100.0 * stats.overMaxTime[d] / Math.max(1, hits),
+            (double) stats.wrongKeys[d] / rounds);
+        System.out.printf(Locale.ROOT, "  média: %.1f ms  p50: %d ms  p90: %d ms  p95: %d ms  p99: %d ms  p99.9: %d ms%n",
+            stats.sumMicros[d] / 1000.0 / Math.max(1, hits), stats.percentileMillis(d, 0.50), stats.percentileMillis(d, 0.90),
+            stats.percentileMillis(d, 0.95), stats.percentileMillis(d, 0.99), stats.percentileMillis(d, 0.999));
+        System.out.printf(Locale.ROOT, "  recordes pessoais: %d%n", stats.personalBests[d]);
+    }
+}
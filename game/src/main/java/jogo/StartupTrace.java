@@ -0,0 +1,27 @@
+package jogo;
+
+import java.util.Locale;
+
+// Instantes das fases da inicialização, em ms desde o início da JVM, escritos no stderr com
+// -Divanjogo.startupTrace=true. As fases de segundo plano chegam depois do primeiro quadro
+final class StartupTrace {
+    private static final boolean ENABLED = Boolean.getBoolean("ivanjogo.startupTrace");
+    private static final long BASE_NANOS = System.nanoTime();
+    // Da criação da JVM até BASE_NANOS; o início do processo só tem precisão de milissegundo
+    private static final long BASE_OFFSET_MILLIS = ENABLED ? jvmUptimeMillis() : 0L;
+
+    private StartupTrace() {
+    }
+
+    private static long jvmUptimeMillis() {
+        return ProcessHandle.current().info().startInstant()
+            .map(start -> Math.max(0L, System.currentTimeMillis() - start.toEpochMilli()))
+            .orElse(0L);
+    }
+
+    static void mark(String phase) {
+        if (!ENABLED) return;
+        double elapsed = BASE_OFFSET_MILLIS + (System.nanoTime() - BASE_NANOS) / 1e6;
+        System.err.printf(Locale.ROOT, "[início] %8.1f ms  %s (%s)%n", elapsed, phase, Thread.currentThread().getName());
+    }
+}
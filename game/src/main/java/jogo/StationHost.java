@@ -0,0 +1,81 @@
+package jogo;
+
+import java.awt.*;
+import java.io.IOException;
+import javax.swing.*;
+
+// Várias estações numa só JVM: N GamePanels dividindo o timer de quadros, o agendador do
+// estímulo, o tema, o ranking e o armazenamento de scores. As estações são repartidas entre
+// as telas disponíveis, uma janela por tela com as estações em grade. Cada estação recebe
+// as teclas quando tem o foco (clique nela ou no START).
+// Uso: java -cp ivanjogo.jar jogo.StationHost [estações] [colunas por janela]
+public class StationHost {
+    public static void main(String[] args) {
+        int stations = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int columns = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        if (GraphicsEnvironment.isHeadless()) {
+            System.err.println("StationHost precisa de uma tela; para rodar sem interface use o SimulationRunner");
+            System.exit(1);
+        }
+
+        ConcurrentLeaderboard leaderboard = new ConcurrentLeaderboard();
+        ScoreStore store = openScoreStore(leaderboard);
+        StationResources resources = new StationResources(Clock.SYSTEM, leaderboard, store,
+            RoundRecorder.defaultDirectory(), true);
+        Latency.dumpOnExit(ScoreStore.defaultDirectory());
+        if (store != null) closeOnExit(store, resources.scorePipeline);
+        StationMetrics.INSTANCE.watch(leaderboard::size, store);
+        StationMetrics.INSTANCE.watchPipeline(resources.scorePipeline);
+        StationMetrics.INSTANCE.publish();
+        SwingUtilities.invokeLater(() -> openWindows(resources, stations, columns));
+    }
+
+    // Um único armazenamento para todas as estações; sem ele o jogo segue apenas em memória
+    private static ScoreStore openScoreStore(ConcurrentLeaderboard leaderboard) {
+        try {
+            return ScoreStore.open(ScoreStore.defaultDirectory(), leaderboard::submit);
+        } catch (IOException e) {
+            System.err.println("Armazenamento de scores indisponível: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Os scores ainda no pipeline chegam ao armazenamento antes de ele fechar
+    private static void closeOnExit(ScoreStore store, ScorePipeline pipeline) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                if (!pipeline.awaitIdle(2000)) System.err.println("Scores pendentes não chegaram ao armazenamento");
+                store.close();
+            } catch (IOException | InterruptedException e) {
+                System.err.println("Falha ao fechar o armazenamento de scores: " + e.getMessage());
+            }
+        }));
+    }
+
+    private static void openWindows(StationResources resources, int stations, int columns) {
+        GraphicsDevice[] screens = GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices();
+        int perScreen = (stations + screens.length - 1) / screens.length;
+        int next = 0;
+        for (int s = 0; s < screens.length && next < stations; s++) {
+            int count = Math.min(perScreen, stations - next);
+            int cols = columns > 0 ? Math.min(columns, count) : (int) Math.ceil(Math.sqrt(count));
+            int rows = (count + cols - 1) / cols;
+
+            GraphicsConfiguration configuration = screens[s].getDefaultConfiguration();
+            JFrame frame = new JFrame("⚡ Estações " + (next + 1) + "-" + (next + count) + " ⚡", configuration);
+            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            JPanel grid = new JPanel(new GridLayout(rows, cols, 4, 4));
+            grid.setBackground(Theme.DARK);
+            for (int i = 0; i < count; i++) {
+                GamePanel panel = new GamePanel(false, resources);
+                panel.setPlayerName("Estação " + (next + i + 1));
+                grid.add(panel);
+            }
+            frame.setContentPane(grid);
+            frame.setBounds(configuration.getBounds());
+            frame.setExtendedState(JFrame.MAXIMIZED_BOTH);
+            frame.setVisible(true);
+            next += count;
+        }
+    }
+}
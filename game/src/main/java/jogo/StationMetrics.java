@@ -0,0 +1,476 @@
+package jogo;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.net.httpserver.HttpServer;
+import java.awt.EventQueue;
+import java.awt.Window;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import javax.management.*;
+import javax.management.openmbean.CompositeData;
+
+// Métricas da JVM da estação para acompanhar as máquinas ao vivo: rodadas iniciadas,
+// concluídas, esgotadas e canceladas por dificuldade, rodadas por segundo, tamanho do ranking,
+// fila de gravação do ScoreStore, eventos de score pendentes, tempos de reação por dificuldade
+// (assinante do ScorePipeline), latência do EDT e pausas de GC durante as rodadas. Os painéis
+// só somam em LongAdders (sem trava nem CAS disputado no caminho da tecla); o resto é lido por
+// uma thread própria, que também mede a taxa e sonda o EDT. Publicadas por JMX em
+// jogo:type=Station e jogo:type=Rounds,difficulty=... e, com -Divanjogo.metricsPort=porta,
+// em texto no formato do Prometheus em http://127.0.0.1:porta/metrics
+final class StationMetrics {
+    // Atributos de jogo:type=Station
+    public interface StationMBean {
+        long getRoundsStarted();
+        long getRoundsCompleted();
+        long getRoundsTimedOut();
+        long getRoundsCancelled();
+        long getLiveRounds();
+        double getRoundsPerSecond();
+        int getRankingSize();
+        int getPersistenceQueueDepth();
+        boolean isPersistenceFailed();
+        long getScoreEventsPending();
+        long getScoreEventsOverflowed();
+        long getEdtLatencyP50Micros();
+        long getEdtLatencyP99Micros();
+        long getEdtLatencyMaxMicros();
+        long getKeyDispatchP50Micros();
+        long getKeyDispatchP99Micros();
+        long getGcPauses();
+        long getGcPausesDuringRounds();
+        long getGcPauseMillisDuringRounds();
+    }
+
+    // Atributos de jogo:type=Rounds,difficulty=...
+    public interface RoundsMBean {
+        long getStarted();
+        long getCompleted();
+        long getTimedOut();
+        long getCancelled();
+        long getReactionP50Micros();
+        long getReactionP99Micros();
+    }
+
+    static final StationMetrics INSTANCE = new StationMetrics();
+
+    // A sonda do EDT a cada SAMPLE_MILLIS; a taxa é a média das últimas RATE_WINDOW amostras
+    private static final int SAMPLE_MILLIS = 250;
+    private static final int RATE_WINDOW = 40;
+
+    private final LongAdder[] started = adders();
+    private final LongAdder[] completed = adders();
+    private final LongAdder[] timedOut = adders();
+    private final LongAdder[] cancelled = adders();
+    // Rodadas entre o agendamento e o fim, somadas em todas as estações da JVM
+    private final LongAdder live = new LongAdder();
+    private final LongAdder gcPauses = new LongAdder();
+    private final LongAdder gcPausesDuringRounds = new LongAdder();
+    private final LongAdder gcPauseMillisDuringRounds = new LongAdder();
+    private final LatencyHistogram[] reactions = new LatencyHistogram[Difficulty.values().length];
+
+    // Quem tem o ranking e o armazenamento se registra em watch; sem eles os valores ficam em 0
+    private volatile IntSupplier rankingSize = () -> 0;
+    private volatile ScoreStore scoreStore;
+    private volatile ScorePipeline scorePipeline;
+
+    // Rodadas encerradas (concluídas + esgotadas) nas últimas amostras, só na thread das métricas
+    private final long[] finishedSamples = new long[RATE_WINDOW];
+    private final long[] sampleNanos = new long[RATE_WINDOW];
+    private int samples;
+    private volatile double roundsPerSecond;
+    private boolean published;
+
+    private StationMetrics() {
+        for (int i = 0; i < reactions.length; i++) reactions[i] = new LatencyHistogram();
+    }
+
+    private static LongAdder[] adders() {
+        LongAdder[] adders = new LongAdder[Difficulty.values().length];
+        for (int i = 0; i < adders.length; i++) adders[i] = new LongAdder();
+        return adders;
+    }
+
+    void roundStarted(Difficulty difficulty) {
+        started[difficulty.ordinal()].increment();
+        live.increment();
+    }
+
+    void roundCompleted(Difficulty difficulty) {
+        completed[difficulty.ordinal()].increment();
+        live.decrement();
+    }
+
+    void roundTimedOut(Difficulty difficulty) {
+        timedOut[difficulty.ordinal()].increment();
+        live.decrement();
+    }
+
+    void roundCancelled(Difficulty difficulty) {
+        cancelled[difficulty.ordinal()].increment();
+        live.decrement();
+    }
+
+    // Assinante ROUND do ScorePipeline: fora do EDT, um score por rodada jogada
+    void scoreRecorded(PlayerScore score) {
+        reactions[score.difficulty.ordinal()].record(score.reactionTimeMicros * 1000L);
+    }
+
+    // A leitura do tamanho é feita fora do EDT e sem trava: um valor um pouco atrasado basta
+    void watch(IntSupplier rankingSize, ScoreStore scoreStore) {
+        this.rankingSize = rankingSize;
+        this.scoreStore = scoreStore;
+    }
+
+    void watchPipeline(ScorePipeline scorePipeline) {
+        this.scorePipeline = scorePipeline;
+    }
+
+    // Registra os MBeans, o listener de GC e o endpoint de texto (se configurado) e inicia a
+    // thread das métricas; chamadas seguintes não fazem nada
+    synchronized void publish() {
+        if (published) return;
+        published = true;
+        Thread thread = new Thread(this::run, "station-metrics");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        // O servidor de MBeans leva algum tempo para subir; fica fora da inicialização do jogo
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(new StandardMBean(new Station(), StationMBean.class), new ObjectName("jogo:type=Station"));
+            for (Difficulty difficulty : Difficulty.values()) {
+                server.registerMBean(new StandardMBean(new Rounds(difficulty.ordinal()), RoundsMBean.class),
+                    new ObjectName("jogo:type=Rounds,difficulty=" + difficulty.name()));
+            }
+        } catch (JMException e) {
+            System.err.println("Métricas JMX indisponíveis: " + e.getMessage());
+        }
+        listenToGc();
+        Integer port = Integer.getInteger("ivanjogo.metricsPort");
+        if (port != null) startEndpoint(port);
+
+        long[] probeStart = new long[1];
+        Runnable probe = () -> Latency.EDT_PROBE.recordSince(probeStart[0]);
+        try {
+            while (true) {
+                sampleRate();
+                // Uma sonda por vez: a próxima só sai depois que o EDT atendeu a anterior. Só
+                // com alguma janela aberta, para não impedir o AWT de encerrar o EDT
+                if (hasWindow()) {
+                    probeStart[0] = System.nanoTime();
+                    EventQueue.invokeAndWait(probe);
+                }
+                Thread.sleep(SAMPLE_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (java.lang.reflect.InvocationTargetException e) {
+            System.err.println("Sonda do EDT interrompida: " + e.getCause());
+        }
+    }
+
+    private static boolean hasWindow() {
+        for (Window window : Window.getWindows()) {
+            if (window.isDisplayable()) return true;
+        }
+        return false;
+    }
+
+    private void sampleRate() {
+        long now = System.nanoTime();
+        long finished = sum(completed) + sum(timedOut);
+        int slot = samples % RATE_WINDOW;
+        int oldest = samples < RATE_WINDOW ? 0 : slot;
+        long elapsed = now - (samples == 0 ? now : sampleNanos[oldest]);
+        if (elapsed > 0) roundsPerSecond = (finished - finishedSamples[oldest]) * 1e9 / elapsed;
+        finishedSamples[slot] = finished;
+        sampleNanos[slot] = now;
+        samples++;
+    }
+
+    // Pausas de GC contadas quando chega a notificação (logo depois da coleta); conta como
+    // durante a rodada se havia alguma rodada em andamento nesse instante. Ciclos concorrentes
+    // (G1 Concurrent GC, ZGC Cycles) não são pausas e ficam de fora
+    private void listenToGc() {
+        NotificationListener listener = (notification, handback) -> {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) return;
+            GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            if (info.getGcName().contains("Concurrent") || info.getGcName().contains("Cycles")) return;
+            gcPauses.increment();
+            if (live.sum() > 0) {
+                gcPausesDuringRounds.increment();
+                gcPauseMillisDuringRounds.add(info.getGcInfo().getDuration());
+            }
+        };
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                ((NotificationEmitter) collector).addNotificationListener(listener, null, null);
+            }
+        }
+    }
+
+    // Só na interface local: o endpoint não tem autenticação
+    private void startEndpoint(int port) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.setExecutor(Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "station-metrics-http");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            server.createContext("/metrics", exchange -> {
+                byte[] body = text().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+        } catch (IOException e) {
+            System.err.println("Endpoint de métricas indisponível na porta " + port + ": " + e.getMessage());
+        }
+    }
+
+    // Formato de texto do Prometheus; tempos em segundos
+    String text() {
+        StringBuilder out = new StringBuilder(2048);
+        perDifficulty(out, "ivanjogo_rounds_started_total", "Rodadas iniciadas", started);
+        perDifficulty(out, "ivanjogo_rounds_completed_total", "Rodadas com a tecla certa", completed);
+        perDifficulty(out, "ivanjogo_rounds_timed_out_total", "Rodadas com tempo esgotado", timedOut);
+        perDifficulty(out, "ivanjogo_rounds_cancelled_total", "Rodadas interrompidas", cancelled);
+        gauge(out, "ivanjogo_rounds_live", "Rodadas em andamento", live.sum());
+        gauge(out, "ivanjogo_rounds_per_second", "Rodadas encerradas por segundo (últimos 10 s)", roundsPerSecond);
+        gauge(out, "ivanjogo_ranking_size", "Scores no ranking", rankingSize.getAsInt());
+        gauge(out, "ivanjogo_persistence_queue_depth", "Scores na fila de gravação", queueDepth());
+        gauge(out, "ivanjogo_persistence_failed", "1 se o armazenamento de scores parou por erro", persistenceFailed() ? 1 : 0);
+        gauge(out, "ivanjogo_score_events_pending", "Eventos de score ainda não entregues aos assinantes", eventsPending());
+        counter(out, "ivanjogo_score_events_overflowed_total", "Eventos de score publicados com a fila cheia", eventsOverflowed());
+        header(out, "ivanjogo_reaction_seconds", "Tempo de reação das rodadas jogadas", "summary");
+        for (Difficulty difficulty : Difficulty.values()) {
+            summaryLines(out, "ivanjogo_reaction_seconds", "difficulty=\"" + difficulty.name() + "\",", reactions[difficulty.ordinal()]);
+        }
+        summary(out, "ivanjogo_edt_latency_seconds", "Espera de uma tarefa na fila do EDT (sonda)", Latency.EDT_PROBE.histogram);
+        summary(out, "ivanjogo_key_dispatch_seconds", "Atraso da fila do EDT até a tecla", Latency.EDT_QUEUE_DELAY.histogram);
+        counter(out, "ivanjogo_gc_pauses_total", "Pausas de GC", gcPauses.sum());
+        counter(out, "ivanjogo_gc_pauses_during_rounds_total", "Pausas de GC com rodada em andamento", gcPausesDuringRounds.sum());
+        counter(out, "ivanjogo_gc_pause_seconds_during_rounds_total", "Tempo de pausa de GC com rodada em andamento",
+            gcPauseMillisDuringRounds.sum() / 1e3);
+        return out.toString();
+    }
+
+    private static void perDifficulty(StringBuilder out, String name, String help, LongAdder[] adders) {
+        header(out, name, help, "counter");
+        for (Difficulty difficulty : Difficulty.values()) {
+            out.append(name).append("{difficulty=\"").append(difficulty.name()).append("\"} ")
+                .append(adders[difficulty.ordinal()].sum()).append('\n');
+        }
+    }
+
+    private static void counter(StringBuilder out, String name, String help, double value) {
+        header(out, name, help, "counter");
+        out.append(name).append(' ').append(number(value)).append('\n');
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, double value) {
+        header(out, name, help, "gauge");
+        out.append(name).append(' ').append(number(value)).append('\n');
+    }
+
+    private static void summary(StringBuilder out, String name, String help, LatencyHistogram histogram) {
+        header(out, name, help, "summary");
+        summaryLines(out, name, "", histogram);
+    }
+
+    // labels: rótulos extras já com a vírgula no fim, ou vazio
+    private static void summaryLines(StringBuilder out, String name, String labels, LatencyHistogram histogram) {
+        for (double quantile : new double[] {0.5, 0.9, 0.99}) {
+            out.append(name).append('{').append(labels).append("quantile=\"").append(quantile).append("\"} ")
+                .append(number(histogram.getPercentile(quantile) / 1e9)).append('\n');
+        }
+        String suffix = labels.isEmpty() ? " " : "{" + labels.substring(0, labels.length() - 1) + "} ";
+        out.append(name).append("_count").append(suffix).append(histogram.getCount()).append('\n');
+        out.append(name).append("_sum").append(suffix).append(number(histogram.getMean() * histogram.getCount() / 1e9)).append('\n');
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String number(double value) {
+        return value == (long) value ? Long.toString((long) value) : String.format(Locale.ROOT, "%.6g", value);
+    }
+
+    private static long sum(LongAdder[] adders) {
+        long total = 0;
+        for (LongAdder adder : adders) total += adder.sum();
+        return total;
+    }
+
+    private int queueDepth() {
+        ScoreStore store = scoreStore;
+        return store == null ? 0 : store.getQueueDepth();
+    }
+
+    private boolean persistenceFailed() {
+        ScoreStore store = scoreStore;
+        return store != null && store.isFailed();
+    }
+
+    private long eventsPending() {
+        ScorePipeline pipeline = scorePipeline;
+        return pipeline == null ? 0 : pipeline.getPending();
+    }
+
+    private long eventsOverflowed() {
+        ScorePipeline pipeline = scorePipeline;
+        return pipeline == null ? 0 : pipeline.getOverflowed();
+    }
+
+    private final class Station implements StationMBean {
+        @Override
+        public long getRoundsStarted() {
+            return sum(started);
+        }
+
+        @Override
+        public long getRoundsCompleted() {
+            return sum(completed);
+        }
+
+        @Override
+        public long getRoundsTimedOut() {
+            return sum(timedOut);
+        }
+
+        @Override
+        public long getRoundsCancelled() {
+            return sum(cancelled);
+        }
+
+        @Override
+        public long getLiveRounds() {
+            return live.sum();
+        }
+
+        @Override
+        public double getRoundsPerSecond() {
+            return roundsPerSecond;
+        }
+
+        @Override
+        public int getRankingSize() {
+            return rankingSize.getAsInt();
+        }
+
+        @Override
+        public int getPersistenceQueueDepth() {
+            return queueDepth();
+        }
+
+        @Override
+        public boolean isPersistenceFailed() {
+            return persistenceFailed();
+        }
+
+        @Override
+        public long getScoreEventsPending() {
+            return eventsPending();
+        }
+
+        @Override
+        public long getScoreEventsOverflowed() {
+            return eventsOverflowed();
+        }
+
+        @Override
+        public long getEdtLatencyP50Micros() {
+            return Latency.EDT_PROBE.histogram.getPercentile(0.50) / 1000L;
+        }
+
+        @Override
+        public long getEdtLatencyP99Micros() {
+            return Latency.EDT_PROBE.histogram.getPercentile(0.99) / 1000L;
+        }
+
+        @Override
+        public long getEdtLatencyMaxMicros() {
+            return Latency.EDT_PROBE.histogram.getMax() / 1000L;
+        }
+
+        @Override
+        public long getKeyDispatchP50Micros() {
+            return Latency.EDT_QUEUE_DELAY.histogram.getPercentile(0.50) / 1000L;
+        }
+
+        @Override
+        public long getKeyDispatchP99Micros() {
+            return Latency.EDT_QUEUE_DELAY.histogram.getPercentile(0.99) / 1000L;
+        }
+
+        @Override
+        public long getGcPauses() {
+            return gcPauses.sum();
+        }
+
+        @Override
+        public long getGcPausesDuringRounds() {
+            return gcPausesDuringRounds.sum();
+        }
+
+        @Override
+        public long getGcPauseMillisDuringRounds() {
+            return gcPauseMillisDuringRounds.sum();
+        }
+    }
+
+    private final class Rounds implements RoundsMBean {
+        private final int index;
+
+        Rounds(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public long getStarted() {
+            return started[index].sum();
+        }
+
+        @Override
+        public long getCompleted() {
+            return completed[index].sum();
+        }
+
+        @Override
+        public long getTimedOut() {
+            return timedOut[index].sum();
+        }
+
+        @Override
+        public long getCancelled() {
+            return cancelled[index].sum();
+        }
+
+        @Override
+        public long getReactionP50Micros() {
+            return reactions[index].getPercentile(0.50) / 1000L;
+        }
+
+        @Override
+        public long getReactionP99Micros() {
+            return reactions[index].getPercentile(0.99) / 1000L;
+        }
+    }
+}
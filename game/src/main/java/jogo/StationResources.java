@@ -0,0 +1,59 @@
+package jogo;
+
+import java.nio.file.Path;
+
+// Recursos divididos entre as estações de uma JVM: relógio, timer de quadros, agendador do
+// estímulo e, no modo de várias estações, o ranking, o armazenamento de scores e o diretório
+// das rodadas gravadas. Os efeitos de cada score (armazenamento, ranking dividido, estatísticas)
+// saem do EDT pelo ScorePipeline, um por conjunto de recursos. O assinante do armazenamento
+// espera vaga na fila limitada do ScoreStore, então o disco também freia o pipeline
+final class StationResources {
+    final Clock clock;
+    final FrameTicker ticker;
+    final StimulusScheduler scheduler;
+    // null: cada painel usa só o próprio RankingEngine
+    final ConcurrentLeaderboard leaderboard;
+    // null: o painel interativo abre o seu próprio armazenamento
+    final ScoreStore scoreStore;
+    // null: só o painel interativo grava as rodadas, no diretório padrão
+    final Path recordingDirectory;
+    // Várias estações na mesma janela: cada uma só recebe as teclas com foco nela
+    final boolean sharedWindow;
+    final ScorePipeline scorePipeline;
+
+    private static StationResources defaults;
+
+    StationResources(Clock clock, ConcurrentLeaderboard leaderboard, ScoreStore scoreStore, Path recordingDirectory,
+            boolean sharedWindow) {
+        this.clock = clock;
+        this.ticker = new FrameTicker(clock);
+        this.scheduler = new StimulusScheduler(clock);
+        this.leaderboard = leaderboard;
+        this.scoreStore = scoreStore;
+        this.recordingDirectory = recordingDirectory;
+        this.sharedWindow = sharedWindow;
+        this.scorePipeline = new ScorePipeline("scores");
+        scorePipeline.subscribe("estatísticas", ScorePipeline.ROUND,
+            (score, kind) -> StationMetrics.INSTANCE.scoreRecorded(score));
+        if (scoreStore != null) {
+            scorePipeline.subscribe("armazenamento", ScorePipeline.PERSIST | ScorePipeline.CLEAR, (score, kind) -> {
+                if (kind == ScorePipeline.CLEAR) scoreStore.appendClear();
+                else scoreStore.append(score);
+            });
+        }
+        if (leaderboard != null) {
+            scorePipeline.subscribe("ranking", ScorePipeline.SHARE | ScorePipeline.CLEAR, (score, kind) -> {
+                if (kind == ScorePipeline.CLEAR) leaderboard.clear();
+                else leaderboard.submit(score);
+            });
+        }
+    }
+
+    // Recursos de quem joga sozinho; criados uma vez e reaproveitados pelos painéis seguintes
+    static synchronized StationResources defaults() {
+        if (defaults == null) {
+            defaults = new StationResources(Clock.SYSTEM, null, null, null, false);
+        }
+        return defaults;
+    }
+}
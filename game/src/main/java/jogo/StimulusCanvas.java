@@ -0,0 +1,125 @@
+package jogo;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+// Tecla alvo por renderização ativa: um Canvas com BufferStrategy de dois buffers, apresentado
+// com show() e Toolkit.sync(). present() desenha e apresenta na hora e retorna o instante logo
+// depois da apresentação, que é o que vale como início do estímulo. A estratégia é criada,
+// usada e descartada só no EDT, inclusive nos quadros de calibração.
+// setText e setForeground só pedem um repaint (feedback entre rodadas). Sem tela (headless,
+// painel ainda não exibido) present() só retorna o instante atual
+class StimulusCanvas extends Canvas {
+    private final Clock clock;
+    private String text = "";
+    // Só no EDT
+    private BufferStrategy strategy;
+    // Cor que preenche o canvas inteiro nos quadros de calibração
+    private Color flash;
+    // Durante a calibração só ela apresenta quadros; os repaints do AWT são ignorados
+    private boolean calibrating;
+
+    StimulusCanvas(Font font, Color foreground, Color background, Clock clock) {
+        this.clock = clock;
+        setFont(font);
+        setForeground(foreground);
+        setBackground(background);
+    }
+
+    void setText(String text) {
+        this.text = text;
+        repaint();
+    }
+
+    String getText() {
+        return text;
+    }
+
+    @Override
+    public void setForeground(Color color) {
+        super.setForeground(color);
+        repaint();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        FontMetrics metrics = getFontMetrics(getFont());
+        return new Dimension(metrics.stringWidth("W") * 3, metrics.getHeight());
+    }
+
+    // Sem limpar antes: o quadro inteiro é redesenhado no buffer
+    @Override
+    public void update(Graphics g) {
+        paint(g);
+    }
+
+    @Override
+    public void paint(Graphics g) {
+        if (!calibrating) present();
+    }
+
+    @Override
+    public void removeNotify() {
+        // A estratégia morre com o peer; outra é criada quando o canvas voltar à tela
+        strategy = null;
+        super.removeNotify();
+    }
+
+    // Desenha e apresenta o quadro atual; retorna o instante depois de show() e sync(). Só no EDT
+    long present() {
+        if (!isDisplayable() || getWidth() <= 0 || getHeight() <= 0) return clock.nanoTime();
+        if (strategy == null) {
+            createBufferStrategy(2);
+            strategy = getBufferStrategy();
+        }
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    render(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+            Toolkit.getDefaultToolkit().sync();
+        } while (strategy.contentsLost());
+        return clock.nanoTime();
+    }
+
+    private void render(Graphics2D g) {
+        int width = getWidth();
+        int height = getHeight();
+        if (flash != null) {
+            g.setColor(flash);
+            g.fillRect(0, 0, width, height);
+            return;
+        }
+        g.setColor(getBackground());
+        g.fillRect(0, 0, width, height);
+        if (text.isEmpty()) return;
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setFont(getFont());
+        g.setColor(getForeground());
+        FontMetrics metrics = g.getFontMetrics();
+        int x = (width - metrics.stringWidth(text)) / 2;
+        int y = (height - metrics.getHeight()) / 2 + metrics.getAscent();
+        g.drawString(text, x, y);
+    }
+
+    void beginCalibration() {
+        calibrating = true;
+    }
+
+    // Quadro de calibração: o canvas inteiro numa cor; só no EDT
+    long presentFlash(Color color) {
+        flash = color;
+        return present();
+    }
+
+    void endCalibration() {
+        flash = null;
+        calibrating = false;
+        repaint();
+    }
+}
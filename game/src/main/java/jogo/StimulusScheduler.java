@@ -0,0 +1,117 @@
+package jogo;
+
+import java.awt.EventQueue;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Agenda o início do estímulo numa thread própria, reutilizada entre rodadas e dividida
+// entre as estações da JVM. Dorme com parkNanos até perto do agendamento mais próximo e faz
+// espera ativa no final, entregando a tarefa ao EDT. O atraso típico de entrega ao EDT é
+// medido e descontado do disparo
+class StimulusScheduler {
+    // Executado no EDT; firedNanos é quando a thread do agendador entregou a tarefa
+    interface OnsetHandler {
+        void onset(long plannedNanos, long firedNanos);
+    }
+
+    // Abaixo desta folga o agendador deixa de dormir e passa a girar
+    private static final long SPIN_MARGIN_NANOS = 2_000_000L;
+    // Limite para a compensação do atraso de entrega ao EDT
+    private static final long MAX_LEAD_NANOS = 5_000_000L;
+
+    // Agendamento devolvido a quem pediu, para poder cancelá-lo
+    static final class Request implements Comparable<Request> {
+        final long plannedNanos;
+        final OnsetHandler handler;
+        final long seq;
+        // Tarefas canceladas que já chegaram ao EDT são descartadas lá
+        volatile boolean cancelled;
+
+        Request(long plannedNanos, OnsetHandler handler, long seq) {
+            this.plannedNanos = plannedNanos;
+            this.handler = handler;
+            this.seq = seq;
+        }
+
+        @Override
+        public int compareTo(Request other) {
+            int byTime = Long.compare(plannedNanos, other.plannedNanos);
+            return byTime != 0 ? byTime : Long.compare(seq, other.seq);
+        }
+    }
+
+    private final Clock clock;
+    private final Thread thread;
+    // Agendamentos pendentes em ordem de disparo
+    private final ConcurrentSkipListMap<Request, Boolean> pending = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextSeq = new AtomicLong();
+    // Estimativa do atraso entre o disparo e o início da tarefa no EDT
+    private volatile long leadNanos;
+
+    StimulusScheduler(Clock clock) {
+        this.clock = clock;
+        this.thread = new Thread(this::run, "stimulus-scheduler");
+        this.thread.setDaemon(true);
+        this.thread.setPriority(Thread.MAX_PRIORITY);
+        this.thread.start();
+    }
+
+    // Agenda o estímulo para plannedNanos; outros agendamentos continuam valendo
+    Request schedule(long plannedNanos, OnsetHandler handler) {
+        Request request = new Request(plannedNanos, handler, nextSeq.getAndIncrement());
+        pending.put(request, Boolean.TRUE);
+        LockSupport.unpark(thread);
+        return request;
+    }
+
+    void cancel(Request request) {
+        if (request == null) return;
+        request.cancelled = true;
+        pending.remove(request);
+        LockSupport.unpark(thread);
+    }
+
+    long getLeadNanos() {
+        return leadNanos;
+    }
+
+    private Request head() {
+        Map.Entry<Request, Boolean> first = pending.firstEntry();
+        return first == null ? null : first.getKey();
+    }
+
+    private void run() {
+        while (true) {
+            Request request = head();
+            if (request == null) {
+                LockSupport.park(this);
+                continue;
+            }
+
+            // Um agendamento mais cedo ou um cancelamento troca a cabeça e reinicia a espera
+            long fireAt = request.plannedNanos - leadNanos;
+            long remaining;
+            while ((remaining = fireAt - clock.nanoTime()) > SPIN_MARGIN_NANOS && head() == request) {
+                LockSupport.parkNanos(this, remaining - SPIN_MARGIN_NANOS);
+            }
+            while (clock.nanoTime() < fireAt && head() == request) {
+                Thread.onSpinWait();
+            }
+            if (pending.remove(request) == null) continue;
+
+            long firedNanos = clock.nanoTime();
+            EventQueue.invokeLater(() -> {
+                // Estimativa assimétrica: cai rápido e sobe devagar, para que picos isolados
+                // não façam o estímulo seguinte sair adiantado
+                long handOffNanos = clock.nanoTime() - firedNanos;
+                long step = handOffNanos < leadNanos ? (handOffNanos - leadNanos) / 2 : (handOffNanos - leadNanos) / 16;
+                leadNanos = Math.min(MAX_LEAD_NANOS, leadNanos + step);
+                if (!request.cancelled) {
+                    request.handler.onset(request.plannedNanos, firedNanos);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package jogo;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.font.FontRenderContext;
+
+// Cores e fontes da interface. São imutáveis, então todas as estações usam as mesmas
+// instâncias em vez de criar as suas
+final class Theme {
+    static final Color PRIMARY = new Color(41, 128, 185);
+    static final Color SUCCESS = new Color(39, 174, 96);
+    static final Color WARNING = new Color(243, 156, 18);
+    static final Color DANGER = new Color(231, 76, 60);
+    static final Color DARK = new Color(44, 62, 80);
+    static final Color LIGHT = new Color(236, 240, 241);
+    static final Color ACCENT = new Color(155, 89, 182);
+    static final Color GRADIENT_START = new Color(240, 245, 250);
+    static final Color GRADIENT_END = new Color(255, 255, 255);
+
+    // "Segoe UI" só existe no Windows. Nos outros sistemas, procurar uma família que não está
+    // instalada faz o Java varrer as fontes da máquina antes de cair na Dialog, o que atrasa a
+    // primeira janela; lá vai direto a SansSerif lógica. -Divanjogo.font escolhe outra família
+    static final String FONT_FAMILY = System.getProperty("ivanjogo.font",
+        System.getProperty("os.name", "").startsWith("Windows") ? "Segoe UI" : Font.SANS_SERIF);
+
+    static final Font TITLE_FONT = new Font(FONT_FAMILY, Font.BOLD, 20);
+    static final Font NORMAL_FONT = new Font(FONT_FAMILY, Font.PLAIN, 14);
+    static final Font BOLD_FONT = new Font(FONT_FAMILY, Font.BOLD, 16);
+    static final Font TARGET_FONT = new Font(FONT_FAMILY, Font.BOLD, 24);
+    static final Font TIMER_FONT = new Font(FONT_FAMILY, Font.BOLD, 32);
+    static final Font REPORT_FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+
+    private Theme() {
+    }
+
+    // Resolve as fontes e mede um texto com cada uma: o custo do carregamento (configuração de
+    // fontes do sistema, arquivos, métricas) fica na thread que chamar, não no primeiro layout
+    static void preloadFonts() {
+        FontRenderContext context = new FontRenderContext(null, true, true);
+        for (Font font : new Font[] {TITLE_FONT, NORMAL_FONT, BOLD_FONT, TARGET_FONT, TIMER_FONT, REPORT_FONT}) {
+            font.getStringBounds("Teste de Tempo de Reação 0123456789:", context);
+        }
+    }
+}
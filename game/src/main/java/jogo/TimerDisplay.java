@@ -0,0 +1,189 @@
+package jogo;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.*;
+import javax.swing.*;
+
+// Mostrador do cronômetro "SS:mmm" desenhado a partir de um atlas de glifos pré-renderizado.
+// Os dígitos ficam num char[] fixo e só a área dos dígitos que mudaram é repintada,
+// então um tick do timer não aloca objetos nem dispara revalidação de layout
+class TimerDisplay extends JComponent {
+    private static final String GLYPHS = "0123456789:";
+    private static final int BORDER_THICKNESS = 2;
+    private static final int ARC = 10;
+
+    // Atlas já renderizados por (fonte, cores, configuração gráfica); estações com o mesmo
+    // tema dividem a mesma imagem. Só acessado no EDT
+    private static final HashMap<java.util.List<Object>, Atlas> ATLASES = new HashMap<>();
+
+    private static final class Atlas {
+        final BufferedImage image;
+        final int cellWidth;
+        final int cellHeight;
+
+        Atlas(BufferedImage image, int cellWidth, int cellHeight) {
+            this.image = image;
+            this.cellWidth = cellWidth;
+            this.cellHeight = cellHeight;
+        }
+    }
+
+    private final char[] digits = {'0', '0', ':', '0', '0', '0'};
+    private final Color normalColor;
+    private final Color warningColor;
+    private boolean warning;
+
+    // Atlas: linha 0 na cor normal, linha 1 na cor de alerta; uma célula por glifo
+    private BufferedImage atlas;
+    private int cellWidth;
+    private int cellHeight;
+
+    TimerDisplay(Font font, Color normalColor, Color warningColor, Color background) {
+        this.normalColor = normalColor;
+        this.warningColor = warningColor;
+        setFont(font);
+        setBackground(background);
+        setOpaque(true);
+    }
+
+    // Atualiza o tempo mostrado; repinta apenas as células alteradas
+    void setElapsedMillis(long elapsedMillis) {
+        long seconds = Math.min(99L, elapsedMillis / 1000L);
+        long milliseconds = elapsedMillis % 1000L;
+        int first = -1;
+        int last = -1;
+        for (int i = 0; i < digits.length; i++) {
+            char c;
+            switch (i) {
+                case 0: c = (char) ('0' + seconds / 10); break;
+                case 1: c = (char) ('0' + seconds % 10); break;
+                case 2: c = ':'; break;
+                case 3: c = (char) ('0' + milliseconds / 100); break;
+                case 4: c = (char) ('0' + milliseconds / 10 % 10); break;
+                default: c = (char) ('0' + milliseconds % 10); break;
+            }
+            if (digits[i] != c) {
+                digits[i] = c;
+                if (first < 0) first = i;
+                last = i;
+            }
+        }
+        if (first >= 0 && atlas != null) {
+            repaint(originX() + first * cellWidth, originY(), (last - first + 1) * cellWidth, cellHeight);
+        }
+    }
+
+    // Alterna a cor de alerta (tempo acima do maxTime da dificuldade)
+    void setWarning(boolean warning) {
+        if (this.warning != warning) {
+            this.warning = warning;
+            repaint();
+        }
+    }
+
+    // Texto atual, para quem precisar ler o valor mostrado
+    String getText() {
+        return new String(digits);
+    }
+
+    @Override
+    public void setFont(Font font) {
+        super.setFont(font);
+        atlas = null;
+        revalidate();
+        repaint();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        // A configuração gráfica pode ter mudado; o atlas é buscado de novo no próximo paint
+        atlas = null;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) return super.getPreferredSize();
+        FontMetrics metrics = getFontMetrics(getFont());
+        int width = glyphCellWidth(metrics) * digits.length;
+        int padding = 2 * (BORDER_THICKNESS + 6);
+        return new Dimension(width + padding, metrics.getHeight() + padding);
+    }
+
+    private static int glyphCellWidth(FontMetrics metrics) {
+        int width = 0;
+        for (int i = 0; i < GLYPHS.length(); i++) {
+            width = Math.max(width, metrics.charWidth(GLYPHS.charAt(i)));
+        }
+        return width;
+    }
+
+    private void loadAtlas() {
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        Atlas shared = ATLASES.computeIfAbsent(Arrays.asList(getFont(), normalColor, warningColor, configuration),
+            key -> buildAtlas(configuration));
+        atlas = shared.image;
+        cellWidth = shared.cellWidth;
+        cellHeight = shared.cellHeight;
+    }
+
+    private Atlas buildAtlas(GraphicsConfiguration configuration) {
+        FontMetrics metrics = getFontMetrics(getFont());
+        int cellWidth = glyphCellWidth(metrics);
+        int cellHeight = metrics.getHeight();
+        int width = cellWidth * GLYPHS.length();
+        BufferedImage atlas = configuration != null
+            ? configuration.createCompatibleImage(width, cellHeight * 2, Transparency.TRANSLUCENT)
+            : new BufferedImage(width, cellHeight * 2, BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D g = atlas.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setFont(getFont());
+        for (int row = 0; row < 2; row++) {
+            g.setColor(row == 0 ? normalColor : warningColor);
+            for (int i = 0; i < GLYPHS.length(); i++) {
+                String glyph = GLYPHS.substring(i, i + 1);
+                int x = i * cellWidth + (cellWidth - metrics.stringWidth(glyph)) / 2;
+                g.drawString(glyph, x, row * cellHeight + metrics.getAscent());
+            }
+        }
+        g.dispose();
+        return new Atlas(atlas, cellWidth, cellHeight);
+    }
+
+    private int originX() {
+        return (getWidth() - cellWidth * digits.length) / 2;
+    }
+
+    private int originY() {
+        return (getHeight() - cellHeight) / 2;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (atlas == null) loadAtlas();
+
+        g.setColor(getBackground());
+        g.fillRect(0, 0, getWidth(), getHeight());
+
+        Graphics2D g2d = (Graphics2D) g;
+        Object antialiasing = g2d.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setColor(warning ? warningColor : normalColor);
+        for (int i = 0; i < BORDER_THICKNESS; i++) {
+            g2d.drawRoundRect(i, i, getWidth() - 1 - 2 * i, getHeight() - 1 - 2 * i, ARC, ARC);
+        }
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, antialiasing);
+
+        int x = originX();
+        int y = originY();
+        int row = warning ? cellHeight : 0;
+        for (int i = 0; i < digits.length; i++) {
+            int glyph = digits[i] == ':' ? 10 : digits[i] - '0';
+            int dx = x + i * cellWidth;
+            int sx = glyph * cellWidth;
+            g.drawImage(atlas, dx, y, dx + cellWidth, y + cellHeight, sx, row, sx + cellWidth, row + cellHeight, null);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package jogo;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Cliente do servidor do torneio usado pelas estações. Roda numa thread própria com um
+// seletor: submit() só enfileira, então o EDT nunca espera pela rede. Reconecta sozinho e
+// reenvia a inscrição; scores enviados sem conexão ficam na fila até reconectar
+class TournamentClient implements Closeable {
+    // Chamado na thread do cliente; quem mexe em Swing deve repassar ao EDT
+    interface Listener {
+        void topKUpdated(Difficulty view, List<PlayerScore> top);
+    }
+
+    private static final long RECONNECT_DELAY_NANOS = 2_000_000_000L;
+
+    private final InetSocketAddress address;
+    private final Listener listener;
+    private final Selector selector;
+    private final Thread thread;
+    private final ConcurrentLinkedQueue<PlayerScore> outgoing = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer out = ByteBuffer.allocate(64 * 1024);
+    private final ByteBuffer in = ByteBuffer.allocate(TournamentProtocol.MAX_FRAME * 2);
+    private volatile boolean running = true;
+    private volatile boolean connected;
+
+    private SocketChannel channel;
+    private long nextConnectAttempt;
+    private boolean subscribed;
+    private Difficulty subscribedView;
+    private int subscribedK;
+
+    TournamentClient(InetSocketAddress address, Listener listener) throws IOException {
+        this.address = address;
+        this.listener = listener;
+        this.selector = Selector.open();
+        this.thread = new Thread(this::run, "tournament-client");
+        this.thread.setDaemon(true);
+    }
+
+    // Lê "host:porta" (porta padrão se omitida)
+    static InetSocketAddress parseAddress(String value) {
+        int colon = value.lastIndexOf(':');
+        if (colon < 0) return new InetSocketAddress(value, TournamentServer.DEFAULT_PORT);
+        return new InetSocketAddress(value.substring(0, colon), Integer.parseInt(value.substring(colon + 1)));
+    }
+
+    // Inscreve-se no top-K de uma dificuldade (null = geral); vale para reconexões
+    synchronized void subscribe(Difficulty view, int k) {
+        subscribedView = view;
+        subscribedK = k;
+        subscribed = true;
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    // Nomes no limite do ScoreFormat cabem sempre num quadro (3 bytes UTF-8 por caractere, no máximo)
+    void submit(PlayerScore score) {
+        if (score.playerName.length() > ScoreFormat.MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Nome com mais de " + ScoreFormat.MAX_NAME_LENGTH + " caracteres");
+        }
+        outgoing.offer(score);
+        selector.wakeup();
+    }
+
+    boolean isConnected() {
+        return connected;
+    }
+
+    int getPendingSubmissions() {
+        return outgoing.size();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (channel == null && System.nanoTime() >= nextConnectAttempt) {
+                    connect();
+                }
+                selector.select(200);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isConnectable()) finishConnect(key);
+                    if (key.isValid() && key.isReadable()) read();
+                }
+                if (connected) {
+                    fillOutgoing();
+                    flush();
+                }
+            } catch (IOException | RuntimeException e) {
+                dropConnection();
+            }
+        }
+        dropConnection();
+        try {
+            selector.close();
+        } catch (IOException e) {
+            // encerrando
+        }
+    }
+
+    private void connect() throws IOException {
+        nextConnectAttempt = System.nanoTime() + RECONNECT_DELAY_NANOS;
+        channel = SocketChannel.open();
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        if (channel.connect(address)) {
+            channel.register(selector, SelectionKey.OP_READ);
+            onConnected();
+        } else {
+            channel.register(selector, SelectionKey.OP_CONNECT);
+        }
+    }
+
+    private void finishConnect(SelectionKey key) throws IOException {
+        if (channel.finishConnect()) {
+            key.interestOps(SelectionKey.OP_READ);
+            onConnected();
+        }
+    }
+
+    private synchronized void onConnected() {
+        connected = true;
+        in.clear();
+        out.clear();
+        if (subscribed) {
+            TournamentProtocol.writeSubscribe(out, subscribedView, subscribedK);
+        }
+    }
+
+    private void fillOutgoing() {
+        PlayerScore score;
+        while ((score = outgoing.peek()) != null) {
+            byte[] name = score.playerName.getBytes(StandardCharsets.UTF_8);
+            int size = TournamentProtocol.submitFrameSize(name);
+            // Um quadro que o servidor recusaria nunca sai da fila sozinho: descartado aqui
+            if (size - 4 > TournamentProtocol.MAX_FRAME) {
+                outgoing.poll();
+                System.err.println("Score não enviado ao torneio: quadro de " + size + " bytes");
+                continue;
+            }
+            if (out.remaining() < size) break;
+            TournamentProtocol.writeSubmit(out, score, name);
+            outgoing.poll();
+        }
+    }
+
+    private void flush() throws IOException {
+        out.flip();
+        channel.write(out);
+        out.compact();
+        SelectionKey key = channel.keyFor(selector);
+        // Com dados pendentes, acordar quando o socket puder receber mais
+        key.interestOps(out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    private void read() throws IOException {
+        if (channel.read(in) < 0) throw new EOFException("Servidor encerrou a conexão");
+        in.flip();
+        while (in.remaining() >= 4) {
+            int length = in.getInt(in.position());
+            if (length <= 0 || length > TournamentProtocol.MAX_FRAME) throw new IOException("Quadro inválido: " + length);
+            if (in.remaining() < 4 + length) break;
+            int end = in.position() + 4 + length;
+            in.position(in.position() + 4);
+            if (in.get() == TournamentProtocol.TOP_K) {
+                Difficulty view = TournamentProtocol.difficulty(in.get());
+                listener.topKUpdated(view, TournamentProtocol.readTopK(in));
+            }
+            in.position(end);
+        }
+        in.compact();
+    }
+
+    // Scores já copiados para o buffer mas não enviados se perdem com a conexão;
+    // os que ainda estão na fila seguem para a próxima
+    private void dropConnection() {
+        connected = false;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // conexão já encerrada
+            }
+            channel = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
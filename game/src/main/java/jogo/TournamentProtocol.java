@@ -0,0 +1,114 @@
+package jogo;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// Protocolo binário entre estações e o servidor do torneio.
+// Quadro: [int tamanho de tipo+payload][byte tipo][payload]
+//   SUBMIT    [byte dificuldade][long reação µs][long reação bruta µs][long atraso EDT µs][long data ms]
+//             [short n][nome UTF-8]
+//   SUBSCRIBE [byte dificuldade ou -1 para o geral][byte k]
+//   TOP_K     [byte dificuldade ou -1][byte n] + n x ([byte dificuldade][long reação µs][short n][nome UTF-8])
+final class TournamentProtocol {
+    static final byte SUBMIT = 1;
+    static final byte SUBSCRIBE = 2;
+    static final byte TOP_K = 3;
+
+    static final int MAX_FRAME = 8192;
+    static final int MAX_K = 100;
+    static final byte OVERALL = -1;
+
+    private TournamentProtocol() {
+    }
+
+    static int submitFrameSize(byte[] name) {
+        return 4 + 1 + 1 + 8 + 8 + 8 + 8 + 2 + name.length;
+    }
+
+    static void writeSubmit(ByteBuffer out, PlayerScore score, byte[] name) {
+        out.putInt(submitFrameSize(name) - 4);
+        out.put(SUBMIT);
+        out.put((byte) score.difficulty.ordinal());
+        out.putLong(score.reactionTimeMicros);
+        out.putLong(score.rawReactionTimeMicros);
+        out.putLong(score.dispatchDelayMicros);
+        out.putLong(score.date.getTime());
+        out.putShort((short) name.length);
+        out.put(name);
+    }
+
+    static void writeSubscribe(ByteBuffer out, Difficulty difficulty, int k) {
+        out.putInt(3);
+        out.put(SUBSCRIBE);
+        out.put(view(difficulty));
+        out.put((byte) Math.min(k, MAX_K));
+    }
+
+    static ByteBuffer encodeTopK(Difficulty difficulty, List<PlayerScore> top) {
+        int size = 4 + 1 + 1 + 1;
+        byte[][] names = new byte[top.size()][];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = top.get(i).playerName.getBytes(StandardCharsets.UTF_8);
+            size += 1 + 8 + 2 + names[i].length;
+        }
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(size - 4);
+        out.put(TOP_K);
+        out.put(view(difficulty));
+        out.put((byte) names.length);
+        for (int i = 0; i < names.length; i++) {
+            PlayerScore score = top.get(i);
+            out.put((byte) score.difficulty.ordinal());
+            out.putLong(score.reactionTimeMicros);
+            out.putShort((short) names[i].length);
+            out.put(names[i]);
+        }
+        out.flip();
+        return out;
+    }
+
+    // Lê o payload de um SUBMIT (após o byte de tipo)
+    static PlayerScore readSubmit(ByteBuffer in) {
+        Difficulty difficulty = difficulty(in.get());
+        long reactionMicros = in.getLong();
+        long rawReactionMicros = in.getLong();
+        long dispatchDelayMicros = in.getLong();
+        long dateMillis = in.getLong();
+        PlayerScore score = new PlayerScore(readName(in), reactionMicros, dispatchDelayMicros, difficulty);
+        score.rawReactionTimeMicros = rawReactionMicros;
+        score.date = new Date(dateMillis);
+        return score;
+    }
+
+    // Lê o payload de um TOP_K (após o byte de dificuldade)
+    static List<PlayerScore> readTopK(ByteBuffer in) {
+        int count = in.get() & 0xFF;
+        ArrayList<PlayerScore> top = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Difficulty difficulty = difficulty(in.get());
+            long reactionMicros = in.getLong();
+            top.add(new PlayerScore(readName(in), reactionMicros, 0L, difficulty));
+        }
+        return top;
+    }
+
+    private static String readName(ByteBuffer in) {
+        byte[] name = new byte[in.getShort()];
+        in.get(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    static byte view(Difficulty difficulty) {
+        return difficulty == null ? OVERALL : (byte) difficulty.ordinal();
+    }
+
+    // null representa o ranking geral
+    static Difficulty difficulty(byte view) {
+        if (view < 0 || view >= Difficulty.values().length) {
+            if (view == OVERALL) return null;
+            throw new IllegalArgumentException("Dificuldade inválida: " + view);
+        }
+        return Difficulty.values()[view];
+    }
+}
@@ -0,0 +1,299 @@
+package jogo;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.file.Paths;
+import java.util.*;
+
+// Servidor do torneio: um único seletor NIO atende todas as estações. Recebe os scores,
+// mantém o RankingEngine compartilhado (só esta thread mexe nele, então não há travas) e
+// envia o top-K atualizado aos inscritos, no máximo uma vez por volta do seletor.
+// Uso: java jogo.TournamentServer [porta] [diretório para persistir]
+public class TournamentServer implements Closeable {
+    static final int DEFAULT_PORT = 7777;
+    // Intervalo do resumo de estatísticas no console
+    private static final long STATS_INTERVAL_NANOS = 5_000_000_000L;
+
+    // Estado de uma conexão: buffer de entrada, fila de saída e inscrição
+    private static class Connection {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocate(TournamentProtocol.MAX_FRAME * 2);
+        final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+        boolean subscribed;
+        Difficulty view;
+        int k;
+        // Bytes que ainda faltam de um quadro rejeitado por tamanho, descartados sem ler
+        int discard;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final RankingEngine ranking = new RankingEngine();
+    private final ScoreStore store;
+    private final ArrayList<Connection> connections = new ArrayList<>();
+    // Visões (geral = índice 0, dificuldades = ordinal + 1) com top-K possivelmente alterado
+    private final boolean[] dirtyViews = new boolean[Difficulty.values().length + 1];
+    private final LatencyHistogram processing = new LatencyHistogram();
+    private volatile boolean running = true;
+    private volatile long submissions;
+    private volatile long rejectedFrames;
+
+    TournamentServer(int port, ScoreStore store) throws IOException {
+        this.store = store;
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    // Recupera scores já salvos, antes de começar a atender
+    void preload(PlayerScore score) {
+        ranking.submit(score);
+    }
+
+    int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    long getRejectedFrames() {
+        return rejectedFrames;
+    }
+
+    long getSubmissions() {
+        return submissions;
+    }
+
+    LatencyHistogram getProcessingHistogram() {
+        return processing;
+    }
+
+    // Atende até close(); fecha as conexões e o armazenamento ao sair
+    void run() throws IOException {
+        try {
+            loop();
+        } finally {
+            shutdown();
+        }
+    }
+
+    private void loop() throws IOException {
+        long nextStats = System.nanoTime() + STATS_INTERVAL_NANOS;
+        long lastSubmissions = 0;
+        while (running) {
+            selector.select(1000);
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid()) continue;
+                try {
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        Connection connection = (Connection) key.attachment();
+                        if (key.isReadable()) read(key, connection);
+                        if (key.isValid() && key.isWritable()) flush(key, connection);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    disconnect(key);
+                }
+            }
+            publishDirtyViews();
+
+            long now = System.nanoTime();
+            if (now >= nextStats) {
+                System.out.printf(Locale.ROOT, "%d conexões, %.0f envios/s, %d quadros rejeitados, processamento: %s%n",
+                    connections.size(), (submissions - lastSubmissions) / (STATS_INTERVAL_NANOS / 1e9), rejectedFrames,
+                    processing.summaryLine());
+                lastSubmissions = submissions;
+                nextStats = now + STATS_INTERVAL_NANOS;
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Connection connection = new Connection(channel);
+            channel.register(selector, SelectionKey.OP_READ, connection);
+            connections.add(connection);
+        }
+    }
+
+    private void read(SelectionKey key, Connection connection) throws IOException {
+        int read = connection.channel.read(connection.in);
+        if (read < 0) {
+            disconnect(key);
+            return;
+        }
+        ByteBuffer in = connection.in;
+        in.flip();
+        while (in.hasRemaining()) {
+            if (connection.discard > 0) {
+                int skipped = Math.min(connection.discard, in.remaining());
+                in.position(in.position() + skipped);
+                connection.discard -= skipped;
+                continue;
+            }
+            if (in.remaining() < 4) break;
+            int length = in.getInt(in.position());
+            // Tamanho não positivo: o fluxo perdeu o alinhamento dos quadros e a conexão cai
+            if (length <= 0) throw new IOException("Quadro inválido: " + length);
+            // Grande demais para o buffer: só este quadro é descartado, a conexão segue
+            if (length > TournamentProtocol.MAX_FRAME) {
+                rejectedFrames++;
+                in.position(in.position() + 4);
+                connection.discard = length;
+                continue;
+            }
+            if (in.remaining() < 4 + length) break;
+            int end = in.position() + 4 + length;
+            in.position(in.position() + 4);
+            long start = System.nanoTime();
+            // A leitura do quadro não passa do fim dele
+            int limit = in.limit();
+            in.limit(end);
+            try {
+                handleFrame(key, connection, in);
+            } catch (IllegalArgumentException | BufferUnderflowException e) {
+                // Quadro malformado (tipo, dificuldade, nome): descartado sozinho
+                rejectedFrames++;
+            } finally {
+                in.limit(limit);
+            }
+            processing.record(System.nanoTime() - start);
+            in.position(end);
+        }
+        in.compact();
+    }
+
+    private void handleFrame(SelectionKey key, Connection connection, ByteBuffer in) throws IOException {
+        byte type = in.get();
+        if (type == TournamentProtocol.SUBMIT) {
+            PlayerScore score = TournamentProtocol.readSubmit(in);
+            if (score.difficulty == null) throw new IllegalArgumentException("SUBMIT sem dificuldade");
+            if (score.playerName.length() > ScoreFormat.MAX_NAME_LENGTH) throw new IllegalArgumentException("Nome longo demais");
+            submissions++;
+            // Só um novo melhor pessoal que entre no top-K pode mudar o que os inscritos veem
+            if (ranking.submit(score)) {
+                dirtyViews[0] |= ranking.isInTopK(score, null, TournamentProtocol.MAX_K);
+                dirtyViews[score.difficulty.ordinal() + 1] |= ranking.isInTopK(score, score.difficulty, TournamentProtocol.MAX_K);
+            }
+            if (store != null) store.append(score);
+        } else if (type == TournamentProtocol.SUBSCRIBE) {
+            connection.view = TournamentProtocol.difficulty(in.get());
+            connection.k = Math.max(1, Math.min(TournamentProtocol.MAX_K, in.get() & 0xFF));
+            connection.subscribed = true;
+            // O novo inscrito recebe o top-K atual imediatamente
+            enqueue(key, connection, TournamentProtocol.encodeTopK(connection.view, topK(connection.view, connection.k)));
+        } else {
+            throw new IllegalArgumentException("Tipo de quadro desconhecido: " + type);
+        }
+    }
+
+    private List<PlayerScore> topK(Difficulty view, int k) {
+        return view == null ? ranking.topK(k) : ranking.topK(view, k);
+    }
+
+    // Envia o top-K das visões alteradas; cada (visão, k) é codificado uma só vez
+    private void publishDirtyViews() {
+        boolean anyDirty = false;
+        for (boolean dirty : dirtyViews) anyDirty |= dirty;
+        if (!anyDirty) return;
+
+        HashMap<Integer, ByteBuffer> encoded = new HashMap<>();
+        // Cópia: um envio com erro remove a conexão da lista
+        for (Connection connection : connections.toArray(new Connection[0])) {
+            if (!connection.subscribed) continue;
+            int viewIndex = connection.view == null ? 0 : connection.view.ordinal() + 1;
+            if (!dirtyViews[viewIndex]) continue;
+            ByteBuffer frame = encoded.computeIfAbsent(viewIndex * 256 + connection.k,
+                id -> TournamentProtocol.encodeTopK(connection.view, topK(connection.view, connection.k)));
+            SelectionKey key = connection.channel.keyFor(selector);
+            try {
+                enqueue(key, connection, frame.duplicate());
+            } catch (RuntimeException e) {
+                disconnect(key);
+            }
+        }
+        Arrays.fill(dirtyViews, false);
+    }
+
+    private void enqueue(SelectionKey key, Connection connection, ByteBuffer frame) {
+        // Só o snapshot mais recente importa: descartar os que ainda não começaram a ser enviados
+        while (connection.out.size() > 1) {
+            connection.out.pollLast();
+        }
+        if (connection.out.size() == 1 && connection.out.peekFirst().position() == 0) {
+            connection.out.pollFirst();
+        }
+        connection.out.addLast(frame);
+        try {
+            flush(key, connection);
+        } catch (IOException e) {
+            disconnect(key);
+        }
+    }
+
+    private void flush(SelectionKey key, Connection connection) throws IOException {
+        ByteBuffer head;
+        while ((head = connection.out.peekFirst()) != null) {
+            connection.channel.write(head);
+            if (head.hasRemaining()) break;
+            connection.out.pollFirst();
+        }
+        if (key.isValid()) {
+            key.interestOps(connection.out.isEmpty() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+    }
+
+    private void disconnect(SelectionKey key) {
+        if (key == null) return;
+        Object attachment = key.attachment();
+        if (attachment instanceof Connection) {
+            connections.remove(attachment);
+        }
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // conexão já encerrada
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+    }
+
+    private void shutdown() throws IOException {
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+        if (store != null) store.close();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        ArrayList<PlayerScore> recovered = new ArrayList<>();
+        ScoreStore store = args.length > 1 ? ScoreStore.open(Paths.get(args[1]), recovered::add) : null;
+        TournamentServer server = new TournamentServer(port, store);
+        for (PlayerScore score : recovered) {
+            server.preload(score);
+        }
+        System.out.println("Servidor do torneio na porta " + server.getPort() + " (" + recovered.size() + " scores recuperados)");
+        server.run();
+    }
+}